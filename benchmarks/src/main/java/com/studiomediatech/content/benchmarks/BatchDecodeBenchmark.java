@@ -0,0 +1,69 @@
+package com.studiomediatech.content.benchmarks;
+
+import com.studiomediatech.content.Contents;
+import com.studiomediatech.content.ContentsBatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scaling of {@link ContentsBatch} decoding, for a batch of {@value #BATCH_SIZE} documents, with a
+ * dedicated pool for each parallelism.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchDecodeBenchmark {
+
+    static final int BATCH_SIZE = 1024;
+
+    @Param
+    Payloads payload;
+
+    @Param({ "1", "2", "4", "8", "16" })
+    int parallelism;
+
+    ForkJoinPool pool;
+    List<byte[]> payloads;
+
+    @Setup
+    public void setup() {
+
+        pool = new ForkJoinPool(parallelism);
+        payloads = Collections.nCopies(BATCH_SIZE, payload.build().asJSON().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Contents> decode() throws IOException {
+
+        return ContentsBatch.decode(payloads, pool, parallelism);
+    }
+}
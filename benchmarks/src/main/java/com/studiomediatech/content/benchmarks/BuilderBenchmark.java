@@ -0,0 +1,54 @@
+package com.studiomediatech.content.benchmarks;
+
+import com.studiomediatech.content.Contents;
+import com.studiomediatech.content.Contents.Buildable;
+import com.studiomediatech.content.Contents.Reusable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@code Contents.withMimeType(...).andValue(...)} builder chains, and the reusable builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuilderBenchmark {
+
+    @Param
+    Payloads payload;
+
+    Reusable reusable;
+
+    @Setup
+    public void setup() {
+
+        reusable = Contents.builder(64);
+    }
+
+    @Benchmark
+    public Buildable build() {
+
+        return payload.build();
+    }
+
+    @Benchmark
+    public Buildable buildReusable() {
+
+        return payload.build(reusable.reset()::withMimeType);
+    }
+}
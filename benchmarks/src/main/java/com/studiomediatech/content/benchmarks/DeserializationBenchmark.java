@@ -0,0 +1,68 @@
+package com.studiomediatech.content.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import com.studiomediatech.content.Content;
+import com.studiomediatech.content.ContentDeserializer;
+import com.studiomediatech.content.Contents;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading JSON content entries, through the {@link ContentDeserializer}, and reading the binary encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    @Param
+    Payloads payload;
+
+    ObjectReader reader;
+    byte[] json;
+    byte[] binary;
+
+    @Setup
+    public void setup() {
+
+        reader = new ObjectMapper().readerFor(new TypeReference<List<Content>>() {
+        });
+        json = payload.build().asJSON().getBytes(StandardCharsets.UTF_8);
+        binary = payload.build().asBinary();
+    }
+
+    @Benchmark
+    public List<Content> deserialize() throws IOException {
+
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public Contents fromBinary() {
+
+        return Contents.fromBinary(binary);
+    }
+}
@@ -0,0 +1,147 @@
+package com.studiomediatech.content.benchmarks;
+
+import com.studiomediatech.content.Content;
+import com.studiomediatech.content.ContentBuffer;
+import com.studiomediatech.content.ContentBufferPool;
+import com.studiomediatech.content.ContentCatalog;
+import com.studiomediatech.content.Contents;
+import com.studiomediatech.content.MimeType;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Reports the retained memory per document, for the default and the compact contents, using JOL.
+ *
+ * <p>
+ * The values, mime type strings and locales are the same objects in both forms, and are subtracted so that only the
+ * content structure is measured. The shared tables of the compact form are amortized over all documents, and are not
+ * included either.
+ * </p>
+ *
+ * <p>
+ * Also reports the load time and retained memory of a {@link ContentCatalog}, of {@value #CATALOG_KEYS} keys in the
+ * {@link Payloads#LOCALES}, before and after building the contents of all keys.
+ * </p>
+ *
+ * <p>
+ * Finally reports the heap retained by {@value #ICONS} documents of {@link Payloads#ICON} contents, held as heap bytes
+ * or as off-heap values of a {@link ContentBufferPool}.
+ * </p>
+ */
+public final class Footprint {
+
+    static final int CATALOG_KEYS = 1000;
+    static final int ICONS = 1000;
+
+    private Footprint() {
+        // Hidden
+    }
+
+    public static void main(String[] args) {
+
+        System.out.printf("%-16s %12s %12s %8s%n", "payload", "default (B)", "compact (B)", "saving");
+
+        for (Payloads payload : Payloads.values()) {
+            List<Content> entries = payload.build().asList();
+            Contents contents = new Contents(entries);
+            Contents compact = contents.compact();
+
+            GraphLayout shared = GraphLayout.parseInstance(
+                    entries.stream().flatMap(c -> Stream.of(c.getMimeType(), c.getContent(), c.getLocale()))
+                            .filter(Objects::nonNull).toArray());
+
+            long overhead = GraphLayout.parseInstance(contents).subtract(shared).totalSize();
+            long compactOverhead = GraphLayout.parseInstance(compact).subtract(shared).totalSize();
+
+            System.out.printf("%-16s %12d %12d %7.0f%%%n", payload, overhead, compactOverhead,
+                    100.0 * (overhead - compactOverhead) / overhead);
+        }
+
+        catalog();
+        icons();
+    }
+
+    private static void catalog() {
+
+        try {
+            Path dir = Files.createTempDirectory("catalog");
+
+            for (Locale locale : Stream.concat(Stream.of(Locale.ROOT), Arrays.stream(Payloads.LOCALES)).toList()) {
+                String suffix = Locale.ROOT.equals(locale) ? "" : "_" + locale;
+
+                try (Writer writer = Files.newBufferedWriter(dir.resolve("messages" + suffix + ".properties"),
+                        StandardCharsets.UTF_8)) {
+                    for (int i = 0; i < CATALOG_KEYS; i++) {
+                        writer.write("message." + i + "=Message " + i + " for {0} (" + locale.toLanguageTag() + ")\n");
+                    }
+                }
+            }
+
+            try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() }, null)) {
+                long start = System.nanoTime();
+                ContentCatalog catalog = ContentCatalog.load("messages", List.of(Payloads.LOCALES), loader);
+                long loaded = System.nanoTime() - start;
+
+                long size = GraphLayout.parseInstance(catalog).totalSize();
+
+                for (String key : catalog.keys()) {
+                    catalog.contents(key, MimeType.TEXT_BODY);
+                }
+
+                long built = GraphLayout.parseInstance(catalog).totalSize();
+
+                System.out.printf("%ncatalog of %d keys in %d locales, loaded in %d ms%n", catalog.keys().size(),
+                        catalog.locales().size(), loaded / 1_000_000);
+                System.out.printf("%-16s %12d%n%-16s %12d%n", "loaded (B)", size, "built (B)", built);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void icons() {
+
+        List<Contents> onHeap = new ArrayList<>(ICONS);
+
+        for (int i = 0; i < ICONS; i++) {
+            onHeap.add(new Contents(
+                    Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(Payloads.ICON.clone()).asList()));
+        }
+
+        try (ContentBufferPool pool = ContentBufferPool.create(256L * 1024 * 1024)) {
+            List<ContentBuffer> buffers = new ArrayList<>(ICONS);
+            List<Contents> offHeap = new ArrayList<>(ICONS);
+
+            for (int i = 0; i < ICONS; i++) {
+                ContentBuffer buffer = pool.copyOf(Payloads.ICON);
+                buffers.add(buffer);
+                offHeap.add(new Contents(Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(buffer).asList()));
+            }
+
+            System.out.printf("%n%d icons of %d bytes%n", ICONS, Payloads.ICON.length);
+            System.out.printf("%-16s %12d%n%-16s %12d%n%-16s %12d%n", "heap (B)",
+                    GraphLayout.parseInstance(onHeap).totalSize(), "off-heap (B)",
+                    GraphLayout.parseInstance(offHeap).totalSize(), "reserved (B)", pool.reservedBytes());
+
+            buffers.forEach(ContentBuffer::close);
+        }
+    }
+}
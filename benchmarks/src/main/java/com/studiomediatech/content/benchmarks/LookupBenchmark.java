@@ -0,0 +1,68 @@
+package com.studiomediatech.content.benchmarks;
+
+import com.studiomediatech.content.Contents;
+import com.studiomediatech.content.MimeType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the content lookups, for linear, indexed and compact contents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Param({ "linear", "indexed", "compact" })
+    String layout;
+
+    Contents contents;
+    Locale locale;
+
+    @Setup
+    public void setup() {
+
+        Contents linear = new Contents(Payloads.BODY_50_LOCALES.build().asList());
+
+        contents = switch (layout) {
+        case "indexed" -> linear.indexed();
+        case "compact" -> linear.compact();
+        default -> linear;
+        };
+        locale = Payloads.LOCALES[Payloads.LOCALES.length - 1];
+    }
+
+    @Benchmark
+    public Object forMimeType() {
+
+        return contents.forMimeType(MimeType.TEXT_BODY);
+    }
+
+    @Benchmark
+    public Object forMimeTypeAndLocale() {
+
+        return contents.forMimeTypeAndLocale(MimeType.TEXT_BODY, locale);
+    }
+
+    @Benchmark
+    public Object forMimeTypeAndAcceptLanguage() {
+
+        return contents.forMimeTypeAndAcceptLanguage(MimeType.TEXT_BODY, "sv-FI, sv;q=0.9, en;q=0.5");
+    }
+}
@@ -0,0 +1,104 @@
+package com.studiomediatech.content.benchmarks;
+
+import com.studiomediatech.content.Contents;
+import com.studiomediatech.content.Contents.Buildable;
+import com.studiomediatech.content.Contents.Builder;
+import com.studiomediatech.content.MimeType;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Shared payload shapes for the benchmarks.
+ *
+ * <p>
+ * The shapes range from a tiny subject, with a default and a single localized entry, to a body localized into 50
+ * locales and a large binary application icon.
+ * </p>
+ */
+public enum Payloads {
+
+    /**
+     * A subject line, with a default and a single localized entry.
+     */
+    SUBJECT {
+
+        @Override
+        public Buildable build(Function<MimeType, Builder> start) {
+
+            return start.apply(MimeType.TEXT_SUBJECT).andValue("Your order has shipped")
+                    .andValue("Din order har skickats", SV);
+        }
+    },
+
+    /**
+     * A subject and a description, with a body localized into 50 locales.
+     */
+    BODY_50_LOCALES {
+
+        @Override
+        public Buildable build(Function<MimeType, Builder> start) {
+
+            Buildable b = start.apply(MimeType.TEXT_SUBJECT).andValue("Your order has shipped")
+                    .andWithMimeType(MimeType.TEXT_DESCRIPTION).andValue("Order notification")
+                    .andWithMimeType(MimeType.TEXT_BODY).andValue(BODY);
+
+            for (Locale locale : LOCALES) {
+                b = b.andValue(BODY + " (" + locale.toLanguageTag() + ")", locale);
+            }
+
+            return b;
+        }
+    },
+
+    /**
+     * A text icon reference and a 64 KiB binary application icon.
+     */
+    IMAGE_APPICON {
+
+        @Override
+        public Buildable build(Function<MimeType, Builder> start) {
+
+            return start.apply(MimeType.TEXT_APPICON).andValue("/icons/app.svg").andWithMimeType(MimeType.IMAGE_APPICON)
+                    .andValue(ICON);
+        }
+    };
+
+    static final Locale SV = Locale.forLanguageTag("sv");
+
+    static final String BODY = "Thank you for your order. Your package is on its way and should arrive within "
+            + "two to three business days. Track the delivery from your account page at any time.";
+
+    static final Locale[] LOCALES = Stream.of("ar", "bg", "bn", "ca", "cs", "cy", "da", "de", "de-AT", "de-CH", "el",
+            "en", "en-GB", "en-US", "es", "es-MX", "et", "fa", "fi", "fr", "fr-CA", "he", "hi", "hr", "hu", "id", "is",
+            "it", "ja", "ko", "lt", "lv", "ms", "nb", "nl", "pl", "pt", "pt-BR", "ro", "ru", "sk", "sl", "sr", "sv",
+            "sv-FI", "th", "tr", "uk", "vi", "zh").map(Locale::forLanguageTag).toArray(Locale[]::new);
+
+    static final byte[] ICON = new byte[64 * 1024];
+
+    static {
+        new Random(42).nextBytes(ICON);
+    }
+
+    /**
+     * Builds the payload from scratch, using the public builder API.
+     *
+     * @return the buildable contents of this payload shape
+     */
+    public Buildable build() {
+
+        return build(Contents::withMimeType);
+    }
+
+    /**
+     * Builds the payload, starting each builder chain with the given function.
+     *
+     * @param start
+     *            function starting the builder for a mime type
+     *
+     * @return the buildable contents of this payload shape
+     */
+    public abstract Buildable build(Function<MimeType, Builder> start);
+}
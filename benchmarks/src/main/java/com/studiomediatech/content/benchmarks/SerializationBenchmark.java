@@ -0,0 +1,164 @@
+package com.studiomediatech.content.benchmarks;
+
+import com.studiomediatech.content.Content;
+import com.studiomediatech.content.Contents;
+import com.studiomediatech.content.Contents.Buildable;
+import com.studiomediatech.content.ContentsWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link Buildable} outputs, for contents that has already been built.
+ *
+ * <p>
+ * The {@code asJSON}, {@code asJSONBuffer} and {@code asBinary} outputs are memoized after the first call, so these
+ * measure reading the memoized bytes. The {@code ...Uncached} variants measure the encoding itself, of contents built
+ * fresh for each invocation, while {@code writeJSON} and the bulk writer stream from the entries, without memoizing.
+ * Batches are of distinct documents.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    static final int BATCH_SIZE = 100;
+
+    @Param
+    Payloads payload;
+
+    Buildable contents;
+
+    List<Contents> documents;
+
+    @Setup
+    public void setup() {
+
+        contents = payload.build();
+        documents = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            documents.add(new Contents(payload.build().asList()));
+        }
+    }
+
+    @Benchmark
+    public List<Content> asList() {
+
+        return contents.asList();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> asMap() {
+
+        return contents.asMap();
+    }
+
+    @Benchmark
+    public String asJSON() {
+
+        return contents.asJSON();
+    }
+
+    @Benchmark
+    public ByteBuffer asJSONBuffer() {
+
+        return contents.asJSONBuffer();
+    }
+
+    @Benchmark
+    public String asJSONUncached(Fresh fresh) {
+
+        return fresh.contents.asJSON();
+    }
+
+    @Benchmark
+    public void writeJSON() throws IOException {
+
+        contents.writeJSON(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] asBinary() {
+
+        return contents.asBinary();
+    }
+
+    @Benchmark
+    public byte[] asBinaryUncached(Fresh fresh) {
+
+        return fresh.contents.asBinary();
+    }
+
+    /**
+     * Writes a batch of {@value #BATCH_SIZE} documents as newline-delimited JSON, with one bulk writer.
+     */
+    @Benchmark
+    public void writeNDJSON() throws IOException {
+
+        try (ContentsWriter writer = Contents.writer(OutputStream.nullOutputStream(), ContentsWriter.Format.NDJSON)) {
+            writer.writeAll(documents);
+        }
+    }
+
+    /**
+     * Writes a batch like {@link #writeNDJSON()}, with {@code asJSON()} per document, as a baseline.
+     */
+    @Benchmark
+    public void asJSONPerDocument(Fresh fresh) throws IOException {
+
+        OutputStream out = OutputStream.nullOutputStream();
+
+        for (Buildable document : fresh.batch) {
+            out.write(document.asJSON().getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Contents built for each invocation, so that nothing is memoized yet.
+     */
+    @State(Scope.Thread)
+    public static class Fresh {
+
+        Buildable contents;
+
+        List<Buildable> batch;
+
+        @Setup(Level.Invocation)
+        public void setup(SerializationBenchmark benchmark) {
+
+            contents = benchmark.payload.build();
+            batch = new ArrayList<>(BATCH_SIZE);
+
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(benchmark.payload.build());
+            }
+        }
+    }
+}
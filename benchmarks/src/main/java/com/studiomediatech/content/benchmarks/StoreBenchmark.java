@@ -0,0 +1,84 @@
+package com.studiomediatech.content.benchmarks;
+
+import com.studiomediatech.content.ContentStore;
+import com.studiomediatech.content.Contents;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures random reads from a {@link ContentStore} of {@value #SIZE} stored contents, in a temporary directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreBenchmark {
+
+    static final int SIZE = 100_000;
+
+    @Param
+    Payloads payload;
+
+    Path dir;
+    ContentStore store;
+
+    @Setup
+    public void setup() throws IOException {
+
+        dir = Files.createTempDirectory("content-store");
+        store = ContentStore.open(dir);
+
+        Contents contents = new Contents(payload.build().asList());
+
+        for (long id = 0; id < SIZE; id++) {
+            store.put(id, contents);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+
+        store.close();
+
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Contents get() throws IOException {
+
+        return store.get(ThreadLocalRandom.current().nextInt(SIZE));
+    }
+
+    @Benchmark
+    public boolean contains() {
+
+        return store.contains(ThreadLocalRandom.current().nextInt(SIZE));
+    }
+}
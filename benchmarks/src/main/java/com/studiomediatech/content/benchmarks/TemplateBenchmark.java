@@ -0,0 +1,59 @@
+package com.studiomediatech.content.benchmarks;
+
+import com.studiomediatech.content.Contents;
+import com.studiomediatech.content.MimeType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.MessageFormat;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering a localized message template, compared to resolving the pattern and formatting it with
+ * {@link MessageFormat}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateBenchmark {
+
+    Contents contents;
+    Locale locale;
+
+    @Setup
+    public void setup() {
+
+        contents = new Contents(
+                Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello {0}, your order {1} has shipped")
+                        .andValue("Hej {0}, din order {1} har skickats", Payloads.SV).asList());
+        locale = Locale.forLanguageTag("sv-FI");
+    }
+
+    @Benchmark
+    public String render() {
+
+        return contents.render(MimeType.TEXT_SUBJECT, locale, "Olle", "A-1234");
+    }
+
+    @Benchmark
+    public String messageFormat() {
+
+        String pattern = contents.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, locale);
+
+        return MessageFormat.format(pattern, "Olle", "A-1234");
+    }
+}
@@ -0,0 +1,104 @@
+package com.studiomediatech.content;
+
+import com.fasterxml.jackson.core.Base64Variant;
+
+/**
+ * Binary content value, kept in its base64 encoded form until first accessed.
+ *
+ * <p>
+ * The decoded bytes are cached once decoded. As long as the value is not decoded, it is serialized from the original
+ * encoded form, without being decoded and encoded again.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class Base64Content {
+
+    private final String encoded;
+    private final Base64Variant variant;
+
+    private volatile byte[] decoded;
+
+    Base64Content(String encoded, Base64Variant variant) {
+
+        this.encoded = encoded;
+        this.variant = variant;
+    }
+
+    /**
+     * Returns the decoded bytes, decoding them on the first call.
+     *
+     * @return the decoded bytes
+     *
+     * @throws IllegalArgumentException
+     *             if the encoded value is not valid base64
+     */
+    byte[] bytes() {
+
+        byte[] b = this.decoded;
+
+        if (b == null) {
+            b = variant.decode(encoded);
+            this.decoded = b;
+        }
+
+        return b;
+    }
+
+    /**
+     * Returns the decoded bytes, without caching them if not already decoded, which must not be modified.
+     *
+     * @return the decoded bytes
+     *
+     * @throws IllegalArgumentException
+     *             if the encoded value is not valid base64
+     */
+    byte[] peek() {
+
+        byte[] b = this.decoded;
+
+        return b == null ? variant.decode(encoded) : b;
+    }
+
+    /**
+     * Returns whether the bytes have been decoded, and may have been modified.
+     *
+     * @return {@code true} if decoded, otherwise {@code false}
+     */
+    boolean isDecoded() {
+
+        return this.decoded != null;
+    }
+
+    /**
+     * Returns the original encoded form.
+     *
+     * @return base64 encoded string
+     */
+    String encoded() {
+
+        return encoded;
+    }
+
+    @Override
+    public int hashCode() {
+
+        return encoded.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+
+        return obj instanceof Base64Content other && encoded.equals(other.encoded);
+    }
+
+    @Override
+    public String toString() {
+
+        return encoded;
+    }
+}
@@ -0,0 +1,203 @@
+package com.studiomediatech.content;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, compact list of content entries, stored as parallel arrays.
+ *
+ * <p>
+ * Instead of one {@link Content} object per entry, each entry is kept as a mime type id and a locale id, packed into
+ * one {@code int}, and the value. The ids refer to the shared {@link ContentSymbols} table, so each distinct mime type
+ * and locale is only held once. Values that are not in the shared table, because it is full or they are not
+ * well-formed, are held in tables of their own instance instead, and their ids are marked as local. Entries are
+ * returned as lightweight {@link Content} views, created on access.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class CompactContents extends AbstractList<Content> implements RandomAccess {
+
+    private static final int LOCAL = 0x8000;
+
+    private final int[] ids;
+    private final Object[] values;
+    private final String[] mimeTypes;
+    private final Locale[] locales;
+
+    private CompactContents(int[] ids, Object[] values, String[] mimeTypes, Locale[] locales) {
+
+        this.ids = ids;
+        this.values = values;
+        this.mimeTypes = mimeTypes;
+        this.locales = locales;
+    }
+
+    /**
+     * Creates compact contents of the given entries.
+     *
+     * @param entries
+     *            to compact
+     *
+     * @return the compact contents, or {@code null} if there are more than 32767 distinct mime types or locales, that
+     *         are not in the shared table
+     */
+    static CompactContents of(List<Content> entries) {
+
+        int size = entries.size();
+
+        int[] ids = new int[size];
+        Object[] values = new Object[size];
+        Map<String, Integer> mimeTypes = new LinkedHashMap<>(0);
+        Map<Locale, Integer> locales = new LinkedHashMap<>(0);
+
+        for (int i = 0; i < size; i++) {
+            Content content = entries.get(i);
+
+            int mimeTypeId = ContentSymbols.mimeTypeId(content.getMimeType());
+            int localeId = ContentSymbols.localeId(content.getLocale());
+
+            if (mimeTypeId < 0) {
+                mimeTypeId = localId(mimeTypes, content.getMimeType());
+            }
+
+            if (localeId < 0) {
+                localeId = localId(locales, content.getLocale());
+            }
+
+            if (mimeTypeId < 0 || localeId < 0) {
+                return null;
+            }
+
+            ids[i] = mimeTypeId << 16 | localeId;
+            values[i] = content.value();
+        }
+
+        return new CompactContents(ids, values, mimeTypes.keySet().toArray(String[]::new),
+                locales.keySet().toArray(Locale[]::new));
+    }
+
+    /**
+     * Returns the local id of the given value, adding it to the given local table if new, or {@code -1} if full.
+     */
+    private static <T> int localId(Map<T, Integer> table, T value) {
+
+        Integer index = table.get(value);
+
+        if (index == null) {
+            if (table.size() == LOCAL - 1) {
+                return -1;
+            }
+
+            index = table.size();
+            table.put(value, index);
+        }
+
+        return LOCAL | index;
+    }
+
+    @Override
+    public Content get(int index) {
+
+        Objects.checkIndex(index, values.length);
+
+        return new Content(mimeTypeAt(ids[index] >>> 16), values[index], localeAt(ids[index] & 0xFFFF));
+    }
+
+    @Override
+    public int size() {
+
+        return values.length;
+    }
+
+    /**
+     * Returns the value of the first entry with the given mime type, comparing ids without creating any views.
+     *
+     * @param mimeType
+     *            to look up
+     *
+     * @return the content value, or {@code null} if there is none
+     */
+    Object forMimeType(MimeType mimeType) {
+
+        int id = findMimeType(mimeType.getMimeType());
+
+        for (int i = 0; id > 0 && i < values.length; i++) {
+            if (ids[i] >>> 16 == id) {
+                return contentOf(values[i]);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the value of the first entry with the given mime type and locale language, comparing ids without creating
+     * any views.
+     *
+     * @param mimeType
+     *            to look up
+     * @param language
+     *            to look up
+     *
+     * @return the content value, or {@code null} if there is none
+     */
+    Object forMimeTypeAndLanguage(MimeType mimeType, String language) {
+
+        int id = findMimeType(mimeType.getMimeType());
+
+        for (int i = 0; id > 0 && i < values.length; i++) {
+            int localeId = ids[i] & 0xFFFF;
+
+            if (ids[i] >>> 16 == id && localeId != 0 && language.equals(localeAt(localeId).getLanguage())) {
+                return contentOf(values[i]);
+            }
+        }
+
+        return null;
+    }
+
+    private int findMimeType(String mimeType) {
+
+        int id = ContentSymbols.findMimeType(mimeType);
+
+        if (id > 0) {
+            return id;
+        }
+
+        for (int i = 0; i < mimeTypes.length; i++) {
+            if (mimeTypes[i].equals(mimeType)) {
+                return LOCAL | i;
+            }
+        }
+
+        return -1;
+    }
+
+    private String mimeTypeAt(int id) {
+
+        if (id == 0) {
+            return null;
+        }
+
+        return (id & LOCAL) != 0 ? mimeTypes[id & ~LOCAL] : ContentSymbols.mimeTypeAt(id).getMimeType();
+    }
+
+    private Locale localeAt(int id) {
+
+        return (id & LOCAL) != 0 ? locales[id & ~LOCAL] : ContentSymbols.localeAt(id);
+    }
+
+    /**
+     * Returns the given value as content, as for {@link Content#getContent()}, decoding lazily read binary content.
+     */
+    private static Object contentOf(Object value) {
+
+        return value instanceof Base64Content encoded ? encoded.bytes() : value;
+    }
+}
@@ -3,9 +3,9 @@ package com.studiomediatech.content;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
-import java.text.MessageFormat;
-
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -24,11 +24,15 @@ import java.util.Optional;
  */
 @JsonInclude(Include.NON_ABSENT)
 @JsonDeserialize(using = ContentDeserializer.class)
+@JsonSerialize(using = ContentSerializer.class)
 public class Content {
 
-    private String mimeType;
-    private Object content;
-    private Optional<Locale> locale;
+    private final String mimeType;
+    private final Object content;
+    private final Locale locale;
+    private transient volatile byte[] digest;
+    private transient int hash;
+    private transient MimeType type;
 
     /**
      * Hidden empty constructor.
@@ -36,14 +40,30 @@ public class Content {
      * Required by the JSON decoder.
      */
     protected Content() {
-        // Required!
+        this(null, null, null);
     }
 
+    /**
+     * Returns a hash code, where binary content is hashed by its bytes. The hash code of binary content is computed
+     * once, and cached.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(content, locale, mimeType);
+        if (!ContentDigest.isBinary(content))
+            return Objects.hash(content, locale, mimeType);
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hash(ContentDigest.valueHash(content), locale, mimeType);
+            hash = h;
+        }
+        return h;
     }
 
+    /**
+     * Returns whether the given object is an equal content entry, where binary content is compared by its bytes,
+     * however it is held. If the {@link #digest() digests} of two entries with binary content are cached, only those
+     * are compared.
+     */
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -51,31 +71,31 @@ public class Content {
         if (obj == null || getClass() != obj.getClass())
             return false;
         Content other = (Content) obj;
-        return Objects.equals(content, other.content) && Objects.equals(locale, other.locale)
-                && Objects.equals(mimeType, other.mimeType);
+        if (!Objects.equals(mimeType, other.mimeType) || !Objects.equals(locale, other.locale))
+            return false;
+        byte[] d1 = digest;
+        byte[] d2 = other.digest;
+        if (d1 != null && d2 != null && ContentDigest.isBinary(content))
+            return Arrays.equals(d1, d2);
+        return ContentDigest.valueEquals(content, other.content);
     }
 
     Content(String mimeType, Object content) {
 
-        this(mimeType, content, Optional.empty());
-    }
-
-    Content(String mimeType, Object content, Locale locale) {
-
-        this(mimeType, content, Optional.of(locale));
+        this(mimeType, content, null);
     }
 
     /**
-     * Private constructor for content entries.
+     * Package-private constructor for content entries.
      *
      * @param mimeType
      *            of the entry
      * @param content
      *            of the entry
      * @param locale
-     *            of the entry
+     *            of the entry, or {@code null} if not localized
      */
-    private Content(String mimeType, Object content, Optional<Locale> locale) {
+    Content(String mimeType, Object content, Locale locale) {
 
         this.mimeType = mimeType;
         this.content = content;
@@ -95,13 +115,56 @@ public class Content {
     /**
      * Returns the content data of this entry.
      *
+     * <p>
+     * Binary content read in the lazy mode of the {@link ContentDeserializer}, is decoded on the first call.
+     * </p>
+     *
      * @return content data object
      */
     public Object getContent() {
 
+        return content instanceof Base64Content encoded ? encoded.bytes() : content;
+    }
+
+    /**
+     * Returns the content data, as held by this entry, without decoding any lazily read binary content.
+     *
+     * @return content data object
+     */
+    Object value() {
+
         return content;
     }
 
+    /**
+     * Returns the canonical SHA-256 digest of this content entry, over its mime type, locale and value.
+     *
+     * <p>
+     * Equal entries have equal digests, where text is digested as UTF-8, and binary content by its bytes, however it is
+     * held. The digest is computed once, streaming any buffer in place, and cached.
+     * </p>
+     *
+     * @return a copy of the 32 byte digest
+     *
+     * @since 1.0
+     */
+    public byte[] digest() {
+
+        return digestBytes().clone();
+    }
+
+    byte[] digestBytes() {
+
+        byte[] d = this.digest;
+
+        if (d == null) {
+            d = ContentDigest.of(mimeType, locale, content);
+            this.digest = d;
+        }
+
+        return d;
+    }
+
     /**
      * Returns the locale of this content entry.
      *
@@ -109,18 +172,17 @@ public class Content {
      */
     public Locale getLocale() {
 
-        return locale.orElse(null);
+        return locale;
     }
 
     @Override
     public String toString() {
 
-        if (locale.isPresent()) {
-            return MessageFormat.format("Content [mimeType={0}, content={1}, locale={2}]", mimeType, content,
-                    locale.get());
+        if (locale != null) {
+            return "Content [mimeType=" + mimeType + ", content=" + content + ", locale=" + locale + "]";
         }
 
-        return MessageFormat.format("Content [mimeType={0}, content={1}]", mimeType, content);
+        return "Content [mimeType=" + mimeType + ", content=" + content + "]";
     }
 
     static Map<String, Object> asMap(Content content) {
@@ -140,10 +202,25 @@ public class Content {
         return this.mimeType.equals(mimeType.getMimeType());
     }
 
-    boolean forMimeTypeAndLocale(MimeType mimeType, Locale locale) {
+    boolean isVariantOf(MimeType mimeType) {
+
+        if (this.mimeType == null) {
+            return false;
+        }
+
+        MimeType t = this.type;
+
+        if (t == null) {
+            t = MimeType.valueOf(this.mimeType);
+            this.type = t;
+        }
+
+        return t.isVariantOf(mimeType);
+    }
 
-        String lang = this.locale.map(Locale::getLanguage).orElse(null);
+    boolean forMimeTypeAndLanguage(MimeType mimeType, String language) {
 
-        return locale.getLanguage().equals(lang) && this.mimeType.equals(mimeType.getMimeType());
+        return this.locale != null && this.mimeType.equals(mimeType.getMimeType())
+                && language.equals(this.locale.getLanguage());
     }
 }
@@ -0,0 +1,164 @@
+package com.studiomediatech.content;
+
+import java.nio.ByteBuffer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Off-heap binary content value, allocated from a {@link ContentBufferPool}.
+ *
+ * <p>
+ * The bytes are held in a block of direct memory, outside of the Java heap, and are read directly from the block when
+ * the content is serialized. Closing the buffer returns the block to its pool, after which the value can no longer be
+ * read, and serializing or digesting any contents holding it fails with an {@link IllegalStateException}. The block is
+ * reference counted, so that a serialization or digest already reading it, on another thread, completes before the
+ * block is returned and reused. Any view returned by {@link #buffer()} must not be used after the buffer is closed.
+ * </p>
+ *
+ * <p>
+ * Buffers are equal if they are open and have the same bytes, as for the other binary content values. A closed buffer
+ * is only equal to itself, since {@link Object#equals(Object)} and {@link Object#hashCode()} never fail.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentBuffer implements AutoCloseable {
+
+    private final ContentBufferPool pool;
+    private final ByteBuffer block;
+    private final int size;
+    private final ContentBufferPool.Slab slab;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    ContentBuffer(ContentBufferPool pool, ByteBuffer block, int size, ContentBufferPool.Slab slab) {
+
+        this.pool = pool;
+        this.block = block;
+        this.size = size;
+        this.slab = slab;
+    }
+
+    /**
+     * Returns a read-only view of the bytes.
+     *
+     * @return a direct buffer, from position zero to the size of this value
+     *
+     * @throws IllegalStateException
+     *             if this buffer is closed
+     */
+    public ByteBuffer buffer() {
+
+        return block().slice(0, size).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the size of the value.
+     *
+     * @return the number of bytes
+     */
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Returns whether this buffer is still open.
+     *
+     * @return {@code true} if open, otherwise {@code false}
+     */
+    public boolean isOpen() {
+
+        return !closed.get();
+    }
+
+    /**
+     * Returns the block of this buffer to its pool, once it is no longer read. Closing an already closed buffer has no
+     * effect.
+     */
+    @Override
+    public void close() {
+
+        if (closed.compareAndSet(false, true)) {
+            release();
+        }
+    }
+
+    /**
+     * Returns a read-only view of the bytes, holding a reference to the block, until {@link #release() released}.
+     *
+     * @throws IllegalStateException
+     *             if this buffer is closed
+     */
+    ByteBuffer acquire() {
+
+        ByteBuffer bytes = tryAcquire();
+
+        if (bytes == null) {
+            throw new IllegalStateException("The content buffer is closed");
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Returns a read-only view of the bytes, as for {@link #acquire()}, or {@code null} if this buffer is closed.
+     */
+    ByteBuffer tryAcquire() {
+
+        int r;
+
+        do {
+            r = references.get();
+
+            if (r == 0 || closed.get()) {
+                return null;
+            }
+        } while (!references.compareAndSet(r, r + 1));
+
+        return block.slice(0, size).asReadOnlyBuffer();
+    }
+
+    /**
+     * Releases a reference to the block, returning it to the pool when there are no more.
+     */
+    void release() {
+
+        if (references.decrementAndGet() == 0) {
+            pool.release(block, slab);
+        }
+    }
+
+    ByteBuffer block() {
+
+        if (closed.get()) {
+            throw new IllegalStateException("The content buffer is closed");
+        }
+
+        return block;
+    }
+
+    @Override
+    public int hashCode() {
+
+        return ContentDigest.valueHash(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+
+        return obj instanceof ContentBuffer && ContentDigest.valueEquals(this, obj);
+    }
+
+    @Override
+    public String toString() {
+
+        return "ContentBuffer [size=" + size + (isOpen() ? "" : ", closed") + "]";
+    }
+}
@@ -0,0 +1,396 @@
+package com.studiomediatech.content;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pooled allocator of off-heap binary content values.
+ *
+ * <p>
+ * Values are copied into blocks of direct memory, outside of the Java heap, and are held by {@link ContentBuffer}
+ * instances, which are added to contents with {@link Contents.Builder#andValue(ContentBuffer)}. Writing the contents
+ * with {@link Contents.Buildable#writeJSON(java.io.OutputStream)} or
+ * {@link Contents.Buildable#writeBinary(java.io.OutputStream)} reads the bytes directly from the blocks, in chunks,
+ * while encodings returned as bytes, for example by {@link Contents.Buildable#asJSON()}, are copies on the heap, which
+ * are never memoized.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ContentBufferPool pool = ContentBufferPool.create(2L * 1024 * 1024 * 1024);
+
+try (ContentBuffer icon = pool.read(channel, size)) {
+    Contents contents = new Contents(Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(icon).asList());
+    ...
+}
+   </code>
+ * </pre>
+ *
+ * <p>
+ * Blocks are sized in powers of two, from 4 KiB up to the slab size, and are carved out of slabs of direct memory,
+ * which are allocated as needed, up to the capacity of the pool. Closing a buffer returns its block to its slab, for
+ * the next value of the same size class, so that memory is reused, without any further allocation or garbage
+ * collection. Once all blocks of a slab are free, the slab is reclaimed, and may be carved into blocks of any other
+ * size class, so that the pool adapts when the sizes of values change. Values larger than the slab size are allocated
+ * on their own, and are released when closed. Free slabs are released to make room for them, if needed.
+ * </p>
+ *
+ * <p>
+ * A pool is thread-safe. Closing it drops all free blocks, and no more values can be allocated. Buffers still in use
+ * are readable, until they are closed.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentBufferPool implements Closeable {
+
+    /**
+     * The default slab size, in bytes.
+     */
+    public static final int DEFAULT_SLAB_SIZE = 4 * 1024 * 1024;
+
+    private static final int MIN_BLOCK_SHIFT = 12;
+
+    private final long capacity;
+    private final int slabShift;
+    private final SizeClass[] sizeClasses;
+    private final Queue<Slab> freeSlabs = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong reserved = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+
+    private volatile boolean closed;
+
+    private ContentBufferPool(long capacity, int slabShift) {
+
+        this.capacity = capacity;
+        this.slabShift = slabShift;
+        this.sizeClasses = new SizeClass[slabShift - MIN_BLOCK_SHIFT + 1];
+
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass(1 << (i + MIN_BLOCK_SHIFT));
+        }
+    }
+
+    /**
+     * Creates a pool with the given capacity, and the {@link #DEFAULT_SLAB_SIZE default slab size}.
+     *
+     * @param capacity
+     *            the maximum off-heap memory of the pool, in bytes
+     *
+     * @return a new pool
+     */
+    public static ContentBufferPool create(long capacity) {
+
+        return create(capacity, DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * Creates a pool with the given capacity and slab size.
+     *
+     * @param capacity
+     *            the maximum off-heap memory of the pool, in bytes
+     * @param slabSize
+     *            of each allocation of pooled memory, and the largest pooled value, a power of two of at least 4 KiB
+     *
+     * @return a new pool
+     */
+    public static ContentBufferPool create(long capacity, int slabSize) {
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, was " + capacity);
+        }
+
+        if (Integer.bitCount(slabSize) != 1 || slabSize < 1 << MIN_BLOCK_SHIFT) {
+            throw new IllegalArgumentException("Slab size must be a power of two of at least 4096, was " + slabSize);
+        }
+
+        return new ContentBufferPool(capacity, Integer.numberOfTrailingZeros(slabSize));
+    }
+
+    /**
+     * Copies the given bytes into a new off-heap buffer.
+     *
+     * @param bytes
+     *            to copy
+     *
+     * @return the buffer, to close when no longer used
+     *
+     * @throws IllegalStateException
+     *             if the pool is closed, or its capacity would be exceeded
+     */
+    public ContentBuffer copyOf(byte[] bytes) {
+
+        return copyOf(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Copies the remaining bytes of the given buffer into a new off-heap buffer. The position of the given buffer is
+     * not changed.
+     *
+     * @param bytes
+     *            to copy, for example a {@link java.nio.MappedByteBuffer} of a file
+     *
+     * @return the buffer, to close when no longer used
+     *
+     * @throws IllegalStateException
+     *             if the pool is closed, or its capacity would be exceeded
+     */
+    public ContentBuffer copyOf(ByteBuffer bytes) {
+
+        ContentBuffer buffer = allocate(bytes.remaining());
+        buffer.block().put(bytes.duplicate());
+
+        return buffer;
+    }
+
+    /**
+     * Reads the given number of bytes from the channel, into a new off-heap buffer, without copying them through the
+     * heap.
+     *
+     * @param channel
+     *            to read from
+     * @param size
+     *            the number of bytes to read
+     *
+     * @return the buffer, to close when no longer used
+     *
+     * @throws IOException
+     *             if reading fails, or the channel ends before all bytes are read
+     * @throws IllegalStateException
+     *             if the pool is closed, or its capacity would be exceeded
+     */
+    public ContentBuffer read(ReadableByteChannel channel, int size) throws IOException {
+
+        ContentBuffer buffer = allocate(size);
+        ByteBuffer block = buffer.block();
+
+        try {
+            while (block.position() < size) {
+                if (channel.read(block.limit(size)) < 0) {
+                    throw new EOFException("Channel ended after " + block.position() + " of " + size + " bytes");
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            buffer.close();
+
+            throw e;
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Returns the off-heap memory allocated by this pool, including free blocks.
+     *
+     * @return the number of bytes
+     */
+    public long reservedBytes() {
+
+        return reserved.get();
+    }
+
+    /**
+     * Returns the off-heap memory of the blocks of all buffers in use.
+     *
+     * @return the number of bytes
+     */
+    public long usedBytes() {
+
+        return used.get();
+    }
+
+    @Override
+    public void close() {
+
+        closed = true;
+
+        for (SizeClass sizeClass : sizeClasses) {
+            synchronized (sizeClass) {
+                sizeClass.slabs.clear();
+            }
+        }
+
+        freeSlabs.clear();
+    }
+
+    private ContentBuffer allocate(int size) {
+
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative, was " + size);
+        }
+
+        if (closed) {
+            throw new IllegalStateException("The pool is closed");
+        }
+
+        int index = sizeClassOf(size);
+
+        if (index < 0) {
+            reserve(size);
+            used.addAndGet(size);
+
+            return new ContentBuffer(this, ByteBuffer.allocateDirect(size), size, null);
+        }
+
+        SizeClass sizeClass = sizeClasses[index];
+        ByteBuffer block;
+        Slab slab;
+
+        synchronized (sizeClass) {
+            slab = sizeClass.slabs.peek();
+
+            if (slab == null) {
+                slab = freeSlab();
+                slab.carve(sizeClass);
+                sizeClass.slabs.push(slab);
+            }
+
+            block = slab.blocks.pop();
+
+            if (slab.blocks.isEmpty()) {
+                sizeClass.slabs.pop();
+            }
+        }
+
+        used.addAndGet(block.capacity());
+
+        return new ContentBuffer(this, block, size, slab);
+    }
+
+    /**
+     * Returns the size class index of a pooled block for the given size, or {@code -1} if too large to be pooled.
+     */
+    private int sizeClassOf(int size) {
+
+        int shift = Math.max(MIN_BLOCK_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(size, 1) - 1));
+
+        return shift > slabShift ? -1 : shift - MIN_BLOCK_SHIFT;
+    }
+
+    /**
+     * Returns a reclaimed slab, or allocates a new one.
+     */
+    private Slab freeSlab() {
+
+        Slab slab = freeSlabs.poll();
+
+        if (slab != null) {
+            return slab;
+        }
+
+        int slabSize = 1 << slabShift;
+        reserve(slabSize);
+
+        return new Slab(ByteBuffer.allocateDirect(slabSize));
+    }
+
+    /**
+     * Reserves the given number of bytes of the capacity, first releasing any free slabs if needed.
+     */
+    private void reserve(long bytes) {
+
+        long r;
+
+        do {
+            r = reserved.get();
+
+            if (r + bytes > capacity) {
+                if (freeSlabs.poll() != null) {
+                    reserved.addAndGet(-(1L << slabShift));
+
+                    continue;
+                }
+
+                throw new IllegalStateException("Could not allocate " + bytes + " bytes, the pool has reserved " + r
+                        + " of its capacity of " + capacity + " bytes");
+            }
+        } while (!reserved.compareAndSet(r, r + bytes));
+    }
+
+    void release(ByteBuffer block, Slab slab) {
+
+        used.addAndGet(-block.capacity());
+
+        if (slab == null) {
+            reserved.addAndGet(-block.capacity());
+
+            return;
+        }
+
+        SizeClass sizeClass = slab.sizeClass;
+
+        synchronized (sizeClass) {
+            if (closed) {
+                return;
+            }
+
+            slab.blocks.push(block.clear());
+
+            if (slab.blocks.size() == 1) {
+                sizeClass.slabs.push(slab);
+            }
+
+            if (slab.blocks.size() == slab.memory.capacity() / sizeClass.blockSize) {
+                sizeClass.slabs.remove(slab);
+                freeSlabs.offer(slab);
+            }
+        }
+    }
+
+    /**
+     * Blocks of one size, and the slabs carved into them, that have free blocks. Guarded by its own monitor.
+     */
+    private static final class SizeClass {
+
+        final int blockSize;
+        final Deque<Slab> slabs = new ArrayDeque<>();
+
+        SizeClass(int blockSize) {
+
+            this.blockSize = blockSize;
+        }
+    }
+
+    /**
+     * A slab of direct memory, carved into blocks of one size class, with its free blocks. Guarded by the monitor of
+     * its size class, while it has any blocks in use.
+     */
+    static final class Slab {
+
+        final ByteBuffer memory;
+        final Deque<ByteBuffer> blocks = new ArrayDeque<>();
+
+        volatile SizeClass sizeClass;
+
+        Slab(ByteBuffer memory) {
+
+            this.memory = memory;
+        }
+
+        void carve(SizeClass target) {
+
+            if (this.sizeClass == target) {
+                return;
+            }
+
+            blocks.clear();
+
+            for (int offset = 0; offset < memory.capacity(); offset += target.blockSize) {
+                blocks.push(memory.slice(offset, target.blockSize));
+            }
+
+            this.sizeClass = target;
+        }
+    }
+}
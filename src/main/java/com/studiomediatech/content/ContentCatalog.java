@@ -0,0 +1,218 @@
+package com.studiomediatech.content;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.ResourceBundle.Control;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalog of localized content, loaded from resource bundles.
+ *
+ * <p>
+ * All bundles, for the given locales and their parent locales, are loaded once, into one in-memory index of message
+ * keys. The root bundle, without any locale, provides the default content. Only the keys defined by each bundle itself
+ * are kept, so inherited values are not duplicated, and are instead resolved by the locale fallbacks of
+ * {@link Contents}.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ContentCatalog catalog = ContentCatalog.load("messages", List.of(Locale.ENGLISH, new Locale("sv", "FI")));
+
+Contents subject = catalog.contents("order.shipped", MimeType.TEXT_SUBJECT);
+   </code>
+ * </pre>
+ *
+ * <p>
+ * Contents are built on the first request of each key and mime type, as indexed contents, and are then shared for all
+ * following requests. No resource bundle lookups are made after loading. A catalog is thread-safe.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentCatalog {
+
+    private static final Control CONTROL = Control.getControl(Control.FORMAT_DEFAULT);
+
+    private final Locale[] locales;
+    private final Map<String, String[]> values;
+    private final Map<Key, Contents> contents = new ConcurrentHashMap<>();
+
+    private ContentCatalog(Locale[] locales, Map<String, String[]> values) {
+
+        this.locales = locales;
+        this.values = values;
+    }
+
+    /**
+     * Loads a catalog from the resource bundles with the given base name, using the context class loader.
+     *
+     * @param baseName
+     *            of the resource bundles, for example {@code messages} or {@code i18n.messages}
+     * @param locales
+     *            to load, with their parent locales, any locale without a bundle is skipped
+     *
+     * @return the loaded catalog
+     */
+    public static ContentCatalog load(String baseName, Collection<Locale> locales) {
+
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+
+        return load(baseName, locales, loader != null ? loader : ContentCatalog.class.getClassLoader());
+    }
+
+    /**
+     * Loads a catalog from the resource bundles with the given base name.
+     *
+     * @param baseName
+     *            of the resource bundles, for example {@code messages} or {@code i18n.messages}
+     * @param locales
+     *            to load, with their parent locales, any locale without a bundle is skipped
+     * @param loader
+     *            to load the bundles with
+     *
+     * @return the loaded catalog
+     */
+    public static ContentCatalog load(String baseName, Collection<Locale> locales, ClassLoader loader) {
+
+        Map<Locale, ResourceBundle> bundles = new LinkedHashMap<>();
+
+        // The default content is always first
+        bundles.put(Locale.ROOT, bundleOf(baseName, Locale.ROOT, loader));
+
+        for (Locale locale : locales) {
+            for (Locale candidate : CONTROL.getCandidateLocales(baseName, locale)) {
+                if (!bundles.containsKey(candidate)) {
+                    bundles.put(candidate, bundleOf(baseName, candidate, loader));
+                }
+            }
+        }
+
+        bundles.values().removeIf(bundle -> bundle == null);
+
+        Locale[] index = new Locale[bundles.size()];
+        Map<String, String[]> values = new HashMap<>();
+
+        int i = 0;
+
+        for (Map.Entry<Locale, ResourceBundle> entry : bundles.entrySet()) {
+            Locale locale = entry.getKey();
+            ResourceBundle bundle = entry.getValue();
+
+            index[i] = Locale.ROOT.equals(locale) ? null : ContentSymbols.locale(locale);
+
+            for (String key : bundle.keySet()) {
+                if (bundle.getObject(key) instanceof String value) {
+                    values.computeIfAbsent(key, k -> new String[index.length])[i] = value;
+                }
+            }
+
+            i++;
+        }
+
+        return new ContentCatalog(index, values);
+    }
+
+    /**
+     * Loads the exact bundle for the given locale, without any parent bundles, and bypassing the resource bundle cache.
+     */
+    private static ResourceBundle bundleOf(String baseName, Locale locale, ClassLoader loader) {
+
+        for (String format : Control.FORMAT_DEFAULT) {
+            try {
+                ResourceBundle bundle = CONTROL.newBundle(baseName, locale, format, loader, false);
+
+                if (bundle != null) {
+                    return bundle;
+                }
+            } catch (IOException | ReflectiveOperationException | ClassCastException e) {
+                throw new MissingResourceException("Could not load bundle " + baseName + " for " + locale + ": " + e,
+                        baseName, "");
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the contents of the given message key, with the given mime type, for all loaded locales.
+     *
+     * @param key
+     *            of the message
+     * @param mimeType
+     *            of the content entries
+     *
+     * @return shared, indexed contents, or {@code null} if there is no such key
+     */
+    public Contents contents(String key, MimeType mimeType) {
+
+        Key k = new Key(key, mimeType);
+        Contents c = this.contents.get(k);
+
+        if (c == null) {
+            String[] v = this.values.get(key);
+
+            if (v == null) {
+                return null;
+            }
+
+            c = this.contents.computeIfAbsent(k, x -> build(mimeType, v));
+        }
+
+        return c;
+    }
+
+    private Contents build(MimeType mimeType, String[] v) {
+
+        String type = ContentSymbols.mimeType(mimeType.getMimeType());
+        List<Content> entries = new ArrayList<>(v.length);
+
+        for (int i = 0; i < v.length; i++) {
+            if (v[i] != null) {
+                entries.add(new Content(type, v[i], locales[i]));
+            }
+        }
+
+        return new Contents(entries).indexed();
+    }
+
+    /**
+     * Returns the message keys of this catalog.
+     *
+     * @return an unmodifiable set of keys
+     */
+    public Set<String> keys() {
+
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    /**
+     * Returns the loaded locales, which had a bundle of their own, where the root bundle is {@link Locale#ROOT}.
+     *
+     * @return an unmodifiable list of locales, in load order
+     */
+    public List<Locale> locales() {
+
+        List<Locale> loaded = new ArrayList<>(locales.length);
+
+        for (Locale locale : locales) {
+            loaded.add(locale == null ? Locale.ROOT : locale);
+        }
+
+        return Collections.unmodifiableList(loaded);
+    }
+
+    private record Key(String key, MimeType mimeType) {
+    }
+}
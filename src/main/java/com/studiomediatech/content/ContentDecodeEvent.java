@@ -0,0 +1,16 @@
+package com.studiomediatech.content;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event, for deserializing contents, or single content entries, from JSON.
+ *
+ * @since 1.0
+ */
+@Name("com.studiomediatech.content.Decode")
+@Label("Content Decode")
+@Description("Deserializing of contents, or of single content entries, from JSON")
+final class ContentDecodeEvent extends ContentEvent {
+}
@@ -1,13 +1,12 @@
 package com.studiomediatech.content;
 
+import com.fasterxml.jackson.core.Base64Variant;
 import com.fasterxml.jackson.core.Base64Variants;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.TextNode;
 
 import java.io.IOException;
 
@@ -16,12 +15,47 @@ import java.util.Locale;
 /**
  * Custom de-serializer for content entries.
  *
+ * <p>
+ * Reads each entry in a single pass over the parser tokens, accepting the {@code mimeType}, {@code locale} and
+ * {@code content} fields in any order. Binary content is decoded directly from the parser buffer, whenever the mime
+ * type is known before the content is read. Unknown fields are skipped.
+ * </p>
+ *
+ * <p>
+ * Mime type strings and locales are canonicalized, so that all entries read share the same instances.
+ * </p>
+ *
+ * <p>
+ * Binary content may also be read lazily, by setting the {@link #LAZY_BINARY} attribute, for example:
+ * </p>
+ *
+ * <pre>
+ * <code>
+ObjectReader reader = mapper.readerFor(Dto.class).withAttribute(ContentDeserializer.LAZY_BINARY, true);
+   </code>
+ * </pre>
+ *
+ * <p>
+ * Lazily read binary content keeps its encoded form, and is only decoded when {@link Content#getContent()} is first
+ * called. Until then, it is serialized by passing the encoded form through unchanged. Note that any invalid base64 is
+ * then not detected when reading, but reported by an {@link IllegalArgumentException} when decoding.
+ * </p>
+ *
  * @since 0.2
  */
 public final class ContentDeserializer extends StdDeserializer<Content> {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Deserialization attribute, which enables reading binary content lazily, when set to {@code true}.
+     *
+     * @since 1.0
+     */
+    public static final String LAZY_BINARY = ContentDeserializer.class.getName() + ".LAZY_BINARY";
+
+    private static final Base64Variant BASE64 = Base64Variants.MIME_NO_LINEFEEDS;
+
     /**
      * Creates a new content de-serializer instance, for reading JSON into {@link Content} objects.
      */
@@ -33,24 +67,129 @@ public final class ContentDeserializer extends StdDeserializer<Content> {
     @Override
     public Content deserialize(JsonParser p, DeserializationContext ctxt) throws IOException, JsonProcessingException {
 
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
+        Object event = Instrumentation.decoding();
+
+        long from = event != null ? p.currentTokenLocation().getByteOffset() : -1;
+        Content content = deserializeEntry(p, ctxt);
+
+        if (content != null) {
+            Instrumentation.commit(event, "deserialize", content, encodedSize(p, from));
+        }
+
+        return content;
+    }
+
+    /**
+     * Deserializes an entry of contents, without any flight recorder event of its own.
+     */
+    Content deserializeEntry(JsonParser p, DeserializationContext ctxt) throws IOException {
+
+        ContentMetrics m = Instrumentation.metrics;
+
+        if (m == null) {
+            return read(p, ctxt);
+        }
+
+        long start = System.nanoTime();
+        Content content = read(p, ctxt);
+
+        if (content != null) {
+            Instrumentation.record(m, ContentMetrics.Operation.DESERIALIZE, start, content);
+        }
+
+        return content;
+    }
+
+    /**
+     * Returns the number of bytes read since the given offset, or {@code -1} if not reading bytes.
+     */
+    static long encodedSize(JsonParser p, long from) {
+
+        long to = p.currentLocation().getByteOffset();
 
-        TreeNode node = p.getCodec().readTree(p);
+        return from < 0 || to < 0 ? -1 : to - from;
+    }
 
-        String mimeType = ((TextNode) node.get("mimeType")).textValue();
+    private Content read(JsonParser p, DeserializationContext ctxt) throws IOException {
 
-        final Object content;
+        JsonToken t = p.currentToken();
 
-        if (mimeType.startsWith("text")) {
-            content = ((TextNode) node.get("content")).textValue();
-        } else {
-            content = ((TextNode) node.get("content")).getBinaryValue(Base64Variants.MIME_NO_LINEFEEDS);
+        if (t == JsonToken.START_OBJECT) {
+            t = p.nextToken();
+        } else if (t != JsonToken.FIELD_NAME && t != JsonToken.END_OBJECT) {
+            return (Content) ctxt.handleUnexpectedToken(Content.class, p);
         }
 
-        if (node.path("locale").isValueNode()) {
-            return new Content(mimeType, content, node.get("locale").traverse(mapper).readValueAs(Locale.class));
+        boolean lazy = Boolean.TRUE.equals(ctxt.getAttribute(LAZY_BINARY));
+
+        String mimeType = null;
+        Object content = null;
+        Locale locale = null;
+
+        for (; t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+            String field = p.currentName();
+            t = p.nextToken();
+
+            switch (field) {
+            case "mimeType":
+                mimeType = ContentSymbols.mimeType(readText(p, ctxt, field));
+                break;
+
+            case "content":
+                content = isBinary(mimeType) && !lazy ? p.getBinaryValue(BASE64) : readText(p, ctxt, field);
+                break;
+
+            case "locale":
+                locale = readLocale(p, ctxt);
+                break;
+
+            default:
+                p.skipChildren();
+            }
         }
 
-        return new Content(mimeType, content);
+        if (mimeType == null) {
+            return ctxt.reportInputMismatch(this, "Missing `mimeType` for content entry");
+        }
+
+        if (content == null) {
+            return ctxt.reportInputMismatch(this, "Missing `content` for content entry");
+        }
+
+        if (content instanceof String text && isBinary(mimeType)) {
+            // Lazy, or read before the mime type was known
+            content = lazy ? new Base64Content(text, BASE64) : BASE64.decode(text);
+        }
+
+        return locale == null ? new Content(mimeType, content) : new Content(mimeType, content, locale);
+    }
+
+    private String readText(JsonParser p, DeserializationContext ctxt, String field) throws IOException {
+
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            return ctxt.reportInputMismatch(this, "Expected a string value for `%s`, was %s", field, p.currentToken());
+        }
+
+        return p.getText();
+    }
+
+    private static Locale readLocale(JsonParser p, DeserializationContext ctxt) throws IOException {
+
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        if (!p.currentToken().isScalarValue()) {
+            p.skipChildren();
+
+            return null;
+        }
+
+        return ContentSymbols.locale(ctxt.readValue(p, Locale.class));
+    }
+
+    private static boolean isBinary(String mimeType) {
+
+        return mimeType != null && !mimeType.startsWith("text");
     }
 }
@@ -0,0 +1,214 @@
+package com.studiomediatech.content;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Canonical SHA-256 digests of content entries and contents.
+ *
+ * <p>
+ * The digest of an entry is taken over its mime type, its locale as a language tag, the kind of its value and the value
+ * bytes, each prefixed by its length, so that no two different entries have the same input. Text is digested as UTF-8,
+ * and binary content by its bytes, regardless of whether it is held as a byte array, a buffer, an off-heap value or
+ * lazily read base64, which is decoded. Buffers are digested in place, without copying them to the heap.
+ * </p>
+ *
+ * <p>
+ * The digest of contents is taken over the number of entries and the digest of each entry, in order, so that the
+ * digests of shared entries are reused.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ContentDigest {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final byte KIND_TEXT = 0;
+    private static final byte KIND_BINARY = 1;
+
+    private ContentDigest() {
+        // Hidden
+    }
+
+    static byte[] of(String mimeType, Locale locale, Object value) {
+
+        MessageDigest md = newDigest();
+
+        update(md, mimeType.getBytes(StandardCharsets.UTF_8));
+        update(md, locale == null ? new byte[0] : locale.toLanguageTag().getBytes(StandardCharsets.US_ASCII));
+
+        if (value instanceof String text) {
+            md.update(KIND_TEXT);
+            update(md, text.getBytes(StandardCharsets.UTF_8));
+        } else {
+            ByteBuffer bytes = acquireBytes(value);
+
+            if (bytes == null) {
+                throw new IllegalStateException("The content buffer is closed");
+            }
+
+            try {
+                md.update(KIND_BINARY);
+                md.update(intBytes(bytes.remaining()));
+                md.update(bytes);
+            } finally {
+                release(value);
+            }
+        }
+
+        return md.digest();
+    }
+
+    static byte[] of(List<Content> values) {
+
+        MessageDigest md = newDigest();
+        md.update(intBytes(values.size()));
+
+        for (Content content : values) {
+            md.update(content.digestBytes());
+        }
+
+        return md.digest();
+    }
+
+    /**
+     * Returns a strong HTTP entity tag, of the URL-safe base64 encoded digest, in quotes.
+     */
+    static String etag(byte[] digest) {
+
+        return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"';
+    }
+
+    /**
+     * Returns whether the given values are equal, where text is compared as strings, and any binary content by its
+     * bytes. A closed {@link ContentBuffer} is only equal to itself, so that this never fails.
+     */
+    static boolean valueEquals(Object a, Object b) {
+
+        if (a == b) {
+            return true;
+        }
+
+        if (a instanceof byte[] x && b instanceof byte[] y) {
+            return Arrays.equals(x, y);
+        }
+
+        if (a instanceof Base64Content x && b instanceof Base64Content y && x.equals(y)) {
+            return true;
+        }
+
+        if (!isBinary(a) || !isBinary(b)) {
+            return Objects.equals(a, b);
+        }
+
+        ByteBuffer x = acquireBytes(a);
+
+        if (x == null) {
+            return false;
+        }
+
+        try {
+            ByteBuffer y = acquireBytes(b);
+
+            if (y == null) {
+                return false;
+            }
+
+            try {
+                return x.equals(y);
+            } finally {
+                release(b);
+            }
+        } finally {
+            release(a);
+        }
+    }
+
+    /**
+     * Returns a hash code of the given value, consistent with {@link #valueEquals(Object, Object)}.
+     */
+    static int valueHash(Object value) {
+
+        if (!isBinary(value)) {
+            return Objects.hashCode(value);
+        }
+
+        ByteBuffer bytes = acquireBytes(value);
+
+        if (bytes == null) {
+            return ((ContentBuffer) value).size();
+        }
+
+        try {
+            return bytes.hashCode();
+        } finally {
+            release(value);
+        }
+    }
+
+    static boolean isBinary(Object value) {
+
+        return value instanceof byte[] || value instanceof ByteBuffer || value instanceof ContentBuffer
+                || value instanceof Base64Content;
+    }
+
+    /**
+     * Returns a new buffer of all the bytes of the given binary value, positioned at zero, for reading only, to
+     * {@link #release(Object)} when read. An off-heap value is held until released, or {@code null} is returned if it
+     * is closed. Lazily read binary content is decoded without caching the bytes, so that it is still passed through in
+     * its encoded form.
+     */
+    private static ByteBuffer acquireBytes(Object value) {
+
+        if (value instanceof byte[] bytes) {
+            return ByteBuffer.wrap(bytes);
+        } else if (value instanceof ByteBuffer buffer) {
+            return buffer.duplicate().clear();
+        } else if (value instanceof ContentBuffer buffer) {
+            return buffer.tryAcquire();
+        } else if (value instanceof Base64Content encoded) {
+            return ByteBuffer.wrap(encoded.peek());
+        }
+
+        throw new IllegalArgumentException(
+                "Unsupported content value type for digests: " + (value == null ? null : value.getClass().getName()));
+    }
+
+    private static void release(Object value) {
+
+        if (value instanceof ContentBuffer buffer) {
+            buffer.release();
+        }
+    }
+
+    private static void update(MessageDigest md, byte[] bytes) {
+
+        md.update(intBytes(bytes.length));
+        md.update(bytes);
+    }
+
+    private static byte[] intBytes(int value) {
+
+        return new byte[] { (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value };
+    }
+
+    private static MessageDigest newDigest() {
+
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Required of every Java platform
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.studiomediatech.content;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event, for encoding contents as JSON or maps.
+ *
+ * @since 1.0
+ */
+@Name("com.studiomediatech.content.Encode")
+@Label("Content Encode")
+@Description("Encoding of contents, by asJSON, asJSONBuffer, writeJSON or asMap")
+final class ContentEncodeEvent extends ContentEvent {
+}
@@ -0,0 +1,101 @@
+package com.studiomediatech.content;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * Base of the JDK Flight Recorder events for content work, with the shape of the handled payload.
+ *
+ * <p>
+ * Events are disabled by default, and enabled by name in a recording or a JFR settings file, for example
+ * {@code jfr configure com.studiomediatech.content.Encode#enabled=true}. When not enabled, creating, beginning and
+ * committing an event does nothing, and the payload shape is only computed for committed events.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Category({ "Content Support" })
+@Enabled(false)
+@StackTrace(false)
+abstract class ContentEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Entries")
+    int entries;
+
+    @Label("Text Entries")
+    int textEntries;
+
+    @Label("Binary Entries")
+    int binaryEntries;
+
+    @Label("Value Size")
+    @Description("Sum of the sizes of all content values, for text as encoded in UTF-8")
+    @DataAmount
+    long valueSize;
+
+    @Label("Encoded Size")
+    @Description("Size of the encoded JSON, or -1 if not known")
+    @DataAmount
+    long encodedSize;
+
+    /**
+     * Commits this event, if it should be, with the shape of the given entries.
+     */
+    final void commit(String op, List<Content> values, long encoded) {
+
+        if (!shouldCommit()) {
+            return;
+        }
+
+        this.operation = op;
+        this.encodedSize = encoded;
+
+        for (Content content : values) {
+            add(content);
+        }
+
+        commit();
+    }
+
+    /**
+     * Commits this event, if it should be, with the shape of the given entry.
+     */
+    final void commit(String op, Content content, long encoded) {
+
+        if (!shouldCommit()) {
+            return;
+        }
+
+        this.operation = op;
+        this.encodedSize = encoded;
+
+        add(content);
+
+        commit();
+    }
+
+    private void add(Content content) {
+
+        Object value = content.value();
+
+        this.entries++;
+
+        if (value instanceof String) {
+            this.textEntries++;
+        } else {
+            this.binaryEntries++;
+        }
+
+        this.valueSize += Instrumentation.sizeOf(value);
+    }
+}
@@ -0,0 +1,62 @@
+package com.studiomediatech.content;
+
+import java.util.List;
+
+/**
+ * Holder of the JDK Flight Recorder events, beginning and committing them.
+ *
+ * <p>
+ * The events extend {@code jdk.jfr.Event}, and this class is only loaded by {@link Instrumentation} if the
+ * {@code jdk.jfr} module is present, so that contents are encoded and decoded on a runtime without it. Events are
+ * passed around as plain objects, so that no other class refers to the event types.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ContentEvents {
+
+    private ContentEvents() {
+        // Hidden
+    }
+
+    /**
+     * Begins an encode event.
+     *
+     * @return the event, or {@code null} if not enabled
+     */
+    static Object beginEncode() {
+
+        return begin(new ContentEncodeEvent());
+    }
+
+    /**
+     * Begins a decode event.
+     *
+     * @return the event, or {@code null} if not enabled
+     */
+    static Object beginDecode() {
+
+        return begin(new ContentDecodeEvent());
+    }
+
+    static void commit(Object event, String operation, List<Content> values, long encoded) {
+
+        ((ContentEvent) event).commit(operation, values, encoded);
+    }
+
+    static void commit(Object event, String operation, Content content, long encoded) {
+
+        ((ContentEvent) event).commit(operation, content, encoded);
+    }
+
+    private static ContentEvent begin(ContentEvent event) {
+
+        if (!event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+
+        return event;
+    }
+}
@@ -0,0 +1,122 @@
+package com.studiomediatech.content;
+
+/**
+ * Instrumentation SPI, for the serialization and lookup hot paths of contents.
+ *
+ * <p>
+ * When installed, the library calls the metrics for each {@link Contents.Buildable#asJSON() asJSON},
+ * {@link Contents.Buildable#asMap() asMap}, {@link ContentDeserializer deserialized} content entry and
+ * {@link Contents#forMimeType(MimeType) forMimeType} lookup, with its duration, the size of each content value handled,
+ * by mime type, and whether lookups found any content. Implement it to bridge to any metrics backend, or use the
+ * {@link ContentMetricsRecorder}.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ContentMetricsRecorder recorder = new ContentMetricsRecorder();
+ContentMetrics.install(recorder);
+...
+ContentMetricsRecorder.Snapshot snapshot = recorder.snapshot();
+   </code>
+ * </pre>
+ *
+ * <p>
+ * No metrics are installed by default, and the hot paths then only check that, without reading any clock. All methods
+ * do nothing by default, are called on the calling thread, and must be thread-safe and fast.
+ * </p>
+ *
+ * @since 1.0
+ */
+public interface ContentMetrics {
+
+    /**
+     * Installs the given metrics, replacing any installed metrics.
+     *
+     * @param metrics
+     *            to install, or {@code null} to disable instrumentation
+     */
+    static void install(ContentMetrics metrics) {
+
+        Instrumentation.metrics = metrics;
+    }
+
+    /**
+     * Returns the installed metrics.
+     *
+     * @return the metrics, or {@code null} if none is installed
+     */
+    static ContentMetrics installed() {
+
+        return Instrumentation.metrics;
+    }
+
+    /**
+     * Records the duration of an operation.
+     *
+     * @param operation
+     *            that was timed
+     * @param nanos
+     *            the duration, in nanoseconds
+     */
+    default void timed(Operation operation, long nanos) {
+
+        // Nothing
+    }
+
+    /**
+     * Records the size of a content value, handled by an operation.
+     *
+     * @param operation
+     *            that handled the value
+     * @param mimeType
+     *            of the content entry
+     * @param bytes
+     *            the size of the value, in bytes, for text as encoded in UTF-8
+     */
+    default void contentSize(Operation operation, String mimeType, long bytes) {
+
+        // Nothing
+    }
+
+    /**
+     * Records the outcome of a lookup.
+     *
+     * @param mimeType
+     *            that was looked up
+     * @param found
+     *            {@code true} if any content was found, otherwise {@code false}
+     */
+    default void lookup(MimeType mimeType, boolean found) {
+
+        // Nothing
+    }
+
+    /**
+     * Instrumented operations.
+     *
+     * @since 1.0
+     */
+    enum Operation {
+
+        /**
+         * Encoding contents as JSON, by {@code asJSON()}, {@code asJSONBuffer()}, or {@code writeJSON(...)} to a stream
+         * or writer.
+         */
+        AS_JSON,
+
+        /**
+         * Converting contents to a list of maps, by {@code asMap()}.
+         */
+        AS_MAP,
+
+        /**
+         * Deserializing a content entry from JSON, by the {@link ContentDeserializer}.
+         */
+        DESERIALIZE,
+
+        /**
+         * Looking up content by mime type, by any of the {@code forMimeType...} methods of {@link Contents}.
+         */
+        LOOKUP
+    }
+}
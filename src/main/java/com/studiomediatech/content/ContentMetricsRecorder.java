@@ -0,0 +1,305 @@
+package com.studiomediatech.content;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default in-memory recorder of {@link ContentMetrics}, with timers per operation, histograms of content value sizes
+ * per operation and mime type, and lookup counters per mime type.
+ *
+ * <p>
+ * All values are accumulated in {@link LongAdder} instances, so that recording from many threads does not contend.
+ * Sizes are counted in power-of-two buckets, where bucket {@code i} counts sizes from {@code 2^(i-1)} up to, but not
+ * including, {@code 2^i} bytes, and bucket {@code 0} counts empty values. At most {@value #MAX_MIME_TYPES} mime types
+ * are kept per operation, and any further are counted as {@value #OTHER_MIME_TYPES}.
+ * </p>
+ *
+ * <p>
+ * Use {@link #snapshot()} to read the current values, for example to publish to a metrics backend, or to assert on in
+ * tests.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentMetricsRecorder implements ContentMetrics {
+
+    /**
+     * The maximum number of mime types kept per operation.
+     */
+    public static final int MAX_MIME_TYPES = 256;
+
+    /**
+     * The key of sizes for any mime types after the first {@value #MAX_MIME_TYPES}.
+     */
+    public static final String OTHER_MIME_TYPES = "*/*";
+
+    private static final int BUCKETS = 65;
+
+    private final Map<Operation, Timer> timers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<String, Histogram>> sizes = new EnumMap<>(Operation.class);
+    private final Map<String, Lookups> lookups = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new recorder, with all values at zero.
+     */
+    public ContentMetricsRecorder() {
+
+        for (Operation operation : Operation.values()) {
+            timers.put(operation, new Timer());
+            sizes.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void timed(Operation operation, long nanos) {
+
+        Timer timer = timers.get(operation);
+
+        timer.count.increment();
+        timer.nanos.add(nanos);
+        timer.max.accumulate(nanos);
+    }
+
+    @Override
+    public void contentSize(Operation operation, String mimeType, long bytes) {
+
+        Map<String, Histogram> histograms = sizes.get(operation);
+        Histogram histogram = histograms.get(mimeType);
+
+        if (histogram == null) {
+            String key = histograms.size() < MAX_MIME_TYPES ? mimeType : OTHER_MIME_TYPES;
+            histogram = histograms.computeIfAbsent(key, k -> new Histogram());
+        }
+
+        histogram.count.increment();
+        histogram.bytes.add(bytes);
+        histogram.buckets[64 - Long.numberOfLeadingZeros(bytes)].increment();
+    }
+
+    @Override
+    public void lookup(MimeType mimeType, boolean found) {
+
+        Lookups l = lookups.get(mimeType.getMimeType());
+
+        if (l == null) {
+            String key = lookups.size() < MAX_MIME_TYPES ? mimeType.getMimeType() : OTHER_MIME_TYPES;
+            l = lookups.computeIfAbsent(key, k -> new Lookups());
+        }
+
+        (found ? l.hits : l.misses).increment();
+    }
+
+    /**
+     * Returns a snapshot of the current values.
+     *
+     * <p>
+     * Values recorded concurrently with taking the snapshot may or may not be included.
+     * </p>
+     *
+     * @return an immutable snapshot
+     */
+    public Snapshot snapshot() {
+
+        Map<Operation, TimerSnapshot> t = new EnumMap<>(Operation.class);
+        Map<Operation, Map<String, SizeSnapshot>> s = new EnumMap<>(Operation.class);
+        Map<String, LookupSnapshot> l = new HashMap<>();
+
+        timers.forEach((operation, timer) -> t.put(operation,
+                new TimerSnapshot(timer.count.sum(), timer.nanos.sum(), timer.max.get())));
+
+        sizes.forEach((operation, histograms) -> {
+            Map<String, SizeSnapshot> m = new HashMap<>();
+            histograms.forEach((mimeType, histogram) -> m.put(mimeType, histogram.snapshot()));
+            s.put(operation, Collections.unmodifiableMap(m));
+        });
+
+        lookups.forEach(
+                (mimeType, lookup) -> l.put(mimeType, new LookupSnapshot(lookup.hits.sum(), lookup.misses.sum())));
+
+        return new Snapshot(Collections.unmodifiableMap(t), Collections.unmodifiableMap(s),
+                Collections.unmodifiableMap(l));
+    }
+
+    /**
+     * Resets all values to zero. Values recorded concurrently with the reset may or may not be kept.
+     */
+    public void reset() {
+
+        timers.values().forEach(Timer::reset);
+        sizes.values().forEach(Map::clear);
+        lookups.clear();
+    }
+
+    private static final class Timer {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void reset() {
+
+            count.reset();
+            nanos.reset();
+            max.reset();
+        }
+    }
+
+    private static final class Histogram {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        Histogram() {
+
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        SizeSnapshot snapshot() {
+
+            long[] b = new long[BUCKETS];
+
+            for (int i = 0; i < BUCKETS; i++) {
+                b[i] = buckets[i].sum();
+            }
+
+            return new SizeSnapshot(count.sum(), bytes.sum(), b);
+        }
+    }
+
+    private static final class Lookups {
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+    }
+
+    /**
+     * Snapshot of all recorded values.
+     *
+     * @param timers
+     *            per operation
+     * @param sizes
+     *            of content values, per operation and mime type
+     * @param lookups
+     *            per looked up mime type
+     *
+     * @since 1.0
+     */
+    public record Snapshot(Map<Operation, TimerSnapshot> timers, Map<Operation, Map<String, SizeSnapshot>> sizes,
+            Map<String, LookupSnapshot> lookups) {
+
+        /**
+         * Returns the timer of the given operation.
+         *
+         * @param operation
+         *            of the timer
+         *
+         * @return the timer snapshot
+         */
+        public TimerSnapshot timer(Operation operation) {
+
+            return timers.get(operation);
+        }
+
+        /**
+         * Returns the sizes of content values of the given mime type, handled by the given operation.
+         *
+         * @param operation
+         *            that handled the values
+         * @param mimeType
+         *            of the values
+         *
+         * @return the size snapshot, or {@code null} if none was recorded
+         */
+        public SizeSnapshot sizes(Operation operation, MimeType mimeType) {
+
+            return sizes.get(operation).get(mimeType.getMimeType());
+        }
+
+        /**
+         * Returns the lookup counters of the given mime type.
+         *
+         * @param mimeType
+         *            that was looked up
+         *
+         * @return the lookup snapshot, or {@code null} if none was recorded
+         */
+        public LookupSnapshot lookups(MimeType mimeType) {
+
+            return lookups.get(mimeType.getMimeType());
+        }
+    }
+
+    /**
+     * Snapshot of a timer.
+     *
+     * @param count
+     *            of timed operations
+     * @param totalNanos
+     *            the sum of all durations
+     * @param maxNanos
+     *            the longest duration
+     *
+     * @since 1.0
+     */
+    public record TimerSnapshot(long count, long totalNanos, long maxNanos) {
+
+        /**
+         * Returns the mean duration.
+         *
+         * @return the mean in nanoseconds, or zero if nothing was timed
+         */
+        public double meanNanos() {
+
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+    }
+
+    /**
+     * Snapshot of a histogram of content value sizes.
+     *
+     * @param count
+     *            of values
+     * @param totalBytes
+     *            the sum of all sizes
+     * @param buckets
+     *            the counts of power-of-two size buckets, see {@link ContentMetricsRecorder}
+     *
+     * @since 1.0
+     */
+    public record SizeSnapshot(long count, long totalBytes, long[] buckets) {
+
+        /**
+         * Returns the count of values in the bucket of the given size.
+         *
+         * @param bytes
+         *            a size within the bucket
+         *
+         * @return the count
+         */
+        public long bucketOf(long bytes) {
+
+            return buckets[64 - Long.numberOfLeadingZeros(bytes)];
+        }
+    }
+
+    /**
+     * Snapshot of lookup counters.
+     *
+     * @param hits
+     *            the number of lookups that found content
+     * @param misses
+     *            the number of lookups that found no content
+     *
+     * @since 1.0
+     */
+    public record LookupSnapshot(long hits, long misses) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.studiomediatech.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Custom serializer for content entries.
+ *
+ * <p>
+ * Writes the entry tokens directly, in the same form as {@link Contents.Buildable#asJSON()}. Binary content that was
+ * read lazily, and never accessed, is written in its original encoded form.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentSerializer extends StdSerializer<Content> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new content serializer instance, for writing {@link Content} objects as JSON.
+     */
+    public ContentSerializer() {
+
+        super(Content.class);
+    }
+
+    @Override
+    public void serialize(Content value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        ContentsJson.writeContent(gen, value);
+    }
+}
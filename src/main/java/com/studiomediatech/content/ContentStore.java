@@ -0,0 +1,878 @@
+package com.studiomediatech.content;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded, persistent and append-only store of contents, by id.
+ *
+ * <p>
+ * Contents are appended as records to a log file, in the compact binary encoding of
+ * {@link Contents#fromBinary(byte[])}, and located by a memory-mapped index of ids to record offsets. Reading contents
+ * is one index lookup, and decoding only that record, from a read-only mapping of the log. Replacing or removing
+ * contents appends a new record, and the space of old records is reclaimed by {@link #compact()}.
+ * </p>
+ *
+ * <p>
+ * Each record is checked by a CRC-32, when read. The index keeps the length of the log it covers, and when opened, any
+ * records after that are read again, and a torn record at the tail, from a crash while writing, is truncated. If the
+ * index is missing or does not match the log, it is rebuilt from the full log. Use {@link #sync()} to force written
+ * records to the storage device.
+ * </p>
+ *
+ * <p>
+ * A store is thread-safe, with concurrent reads and exclusive writes. Only one store instance may be open for a
+ * directory at a time, which is enforced by a lock on a {@code contents.lock} file in the directory, held until the
+ * store is closed. Once closed, any use of the store fails with an {@link IllegalStateException}.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentStore implements Closeable {
+
+    private static final String LOG = "contents.log";
+    private static final String INDEX = "contents.idx";
+    private static final String LOCK = "contents.lock";
+    private static final String COMPACT = ".compact";
+    private static final String GROW = ".grow";
+
+    private static final int LOG_MAGIC = 0x434C4F47;
+    private static final int VERSION = 1;
+    private static final int LOG_HEADER = 16;
+
+    private static final int RECORD_HEADER = 16;
+    private static final int TOMBSTONE = -1;
+
+    private static final long REMAP_SIZE = 1024 * 1024;
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    private final Path dir;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Segment> segments = new ArrayList<>();
+
+    private FileChannel lockFile;
+    private FileChannel log;
+    private long mapped;
+    private Index index;
+    private boolean closed;
+    private long generation;
+    private long logEnd;
+
+    private ContentStore(Path dir) {
+
+        this.dir = dir;
+    }
+
+    /**
+     * Opens the store in the given directory, creating it if it does not exist.
+     *
+     * @param dir
+     *            of the store files
+     *
+     * @return the opened store
+     *
+     * @throws IOException
+     *             if the store could not be opened, is already open, or the directory has a log file that is not a
+     *             store log
+     */
+    public static ContentStore open(Path dir) throws IOException {
+
+        Files.createDirectories(dir);
+
+        ContentStore store = new ContentStore(dir);
+        store.recover();
+
+        return store;
+    }
+
+    private void recover() throws IOException {
+
+        lockFile = FileChannel.open(dir.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+        try {
+            if (tryLock(lockFile) == null) {
+                throw new IOException("Content store is already open: " + dir);
+            }
+
+            log = FileChannel.open(dir.resolve(LOG), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+
+            if (log.size() < LOG_HEADER) {
+                generation = 1;
+                log.truncate(0);
+                writeFully(log, logHeader(generation), 0);
+            } else {
+                ByteBuffer header = readFully(log, ByteBuffer.allocate(LOG_HEADER), 0);
+
+                if (header.getInt(0) != LOG_MAGIC || header.getInt(4) != VERSION) {
+                    throw new IOException("Not a content store log, or unsupported version: " + dir.resolve(LOG));
+                }
+
+                generation = header.getLong(8);
+            }
+
+            index = Index.open(dir.resolve(INDEX), generation, log.size());
+
+            if (index == null) {
+                index = Index.create(dir.resolve(INDEX), Index.MIN_CAPACITY, generation);
+                index.logLength(LOG_HEADER);
+            }
+
+            scan(index.logLength());
+        } catch (IOException | RuntimeException e) {
+            close();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Locks the given file, which is released when its channel is closed.
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Already locked by this JVM
+            return null;
+        }
+    }
+
+    /**
+     * Reads all valid records from the given position, into the index, and truncates the log after the last one.
+     */
+    private void scan(long position) throws IOException {
+
+        long size = log.size();
+        long p = position;
+
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+
+        while (p + RECORD_HEADER <= size) {
+            readFully(log, header.clear(), p);
+
+            int length = header.getInt(0);
+            long id = header.getLong(4);
+
+            if (length == 0 || length < TOMBSTONE || p + RECORD_HEADER + Math.max(length, 0) > size) {
+                break;
+            }
+
+            ByteBuffer payload = readFully(log, ByteBuffer.allocate(Math.max(length, 0)), p + RECORD_HEADER);
+
+            if (header.getInt(12) != crc(header, payload)) {
+                break;
+            }
+
+            if (length == TOMBSTONE) {
+                index.remove(id);
+            } else {
+                putIndex(id, p + RECORD_HEADER, length);
+            }
+
+            p += RECORD_HEADER + payload.capacity();
+        }
+
+        log.truncate(p);
+        logEnd = p;
+        index.logLength(p);
+
+        remap();
+    }
+
+    /**
+     * Maps the whole log for reading, in segments of at most 1 GiB.
+     */
+    private void remap() throws IOException {
+
+        segments.clear();
+        mapped = 0;
+
+        mapTo(logEnd);
+    }
+
+    /**
+     * Maps the records appended since the log was last mapped, once they are at least 1 MiB, as a new segment. Records
+     * after the mapped segments are read from the channel, until mapped.
+     */
+    private void remapIfGrown() throws IOException {
+
+        if (logEnd - mapped >= REMAP_SIZE) {
+            mapTo(logEnd);
+        }
+    }
+
+    private void mapTo(long end) throws IOException {
+
+        while (mapped < end) {
+            long size = Math.min(end - mapped, MAX_SEGMENT_SIZE);
+
+            segments.add(new Segment(mapped, log.map(MapMode.READ_ONLY, mapped, size)));
+            mapped += size;
+        }
+    }
+
+    /**
+     * Returns a view of the given record, if it is within one mapped segment, otherwise {@code null}.
+     */
+    private ByteBuffer mappedRecord(long offset, int length) {
+
+        int lo = 0;
+        int hi = segments.size() - 1;
+
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            Segment segment = segments.get(mid);
+
+            if (offset < segment.start()) {
+                hi = mid - 1;
+            } else if (offset >= segment.start() + segment.buffer().capacity()) {
+                lo = mid + 1;
+            } else {
+                int position = (int) (offset - segment.start());
+
+                return position + length <= segment.buffer().capacity() ? segment.buffer().slice(position, length)
+                        : null;
+            }
+        }
+
+        return null;
+    }
+
+    private void ensureOpen() {
+
+        if (closed) {
+            throw new IllegalStateException("The content store is closed");
+        }
+    }
+
+    /**
+     * Stores the given contents, replacing any contents already stored with the same id.
+     *
+     * @param id
+     *            of the contents
+     * @param contents
+     *            to store
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public void put(long id, Contents contents) throws IOException {
+
+        byte[] payload = ContentsBinary.encode(contents.values());
+
+        lock.writeLock().lock();
+
+        try {
+            ensureOpen();
+
+            long offset = append(id, payload.length, payload);
+            putIndex(id, offset, payload.length);
+            index.logLength(logEnd);
+
+            remapIfGrown();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the contents stored with the given id.
+     *
+     * @param id
+     *            of the contents
+     *
+     * @return the contents, or {@code null} if there is none
+     *
+     * @throws IOException
+     *             if reading fails, or the record is corrupt
+     */
+    public Contents get(long id) throws IOException {
+
+        lock.readLock().lock();
+
+        try {
+            ensureOpen();
+
+            int slot = index.find(id);
+
+            if (slot < 0) {
+                return null;
+            }
+
+            return Contents.fromBinary(readRecord(id, index.offset(slot), index.length(slot)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the payload of the given record, from a mapped segment if within one, after checking its header and
+     * CRC-32.
+     */
+    private ByteBuffer readRecord(long id, long offset, int length) throws IOException {
+
+        ByteBuffer record = mappedRecord(offset - RECORD_HEADER, RECORD_HEADER + length);
+
+        if (record == null) {
+            record = readFully(log, ByteBuffer.allocate(RECORD_HEADER + length), offset - RECORD_HEADER).flip();
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER).put(0, record, 0, RECORD_HEADER);
+        ByteBuffer payload = record.slice(RECORD_HEADER, length);
+
+        if (header.getInt(0) != length || header.getLong(4) != id || header.getInt(12) != crc(header, payload)) {
+            throw new IOException("Corrupt record of id " + id + ", at " + offset + " in " + dir.resolve(LOG));
+        }
+
+        return payload;
+    }
+
+    /**
+     * Returns whether there are contents stored with the given id.
+     *
+     * @param id
+     *            of the contents
+     *
+     * @return {@code true} if stored, otherwise {@code false}
+     */
+    public boolean contains(long id) {
+
+        lock.readLock().lock();
+
+        try {
+            ensureOpen();
+
+            return index.find(id) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the contents stored with the given id.
+     *
+     * @param id
+     *            of the contents
+     *
+     * @return {@code true} if removed, or {@code false} if there was none
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public boolean remove(long id) throws IOException {
+
+        lock.writeLock().lock();
+
+        try {
+            ensureOpen();
+
+            if (index.find(id) < 0) {
+                return false;
+            }
+
+            append(id, TOMBSTONE, new byte[0]);
+            index.remove(id);
+            index.logLength(logEnd);
+
+            remapIfGrown();
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of stored contents.
+     *
+     * @return the number of ids
+     */
+    public int size() {
+
+        lock.readLock().lock();
+
+        try {
+            ensureOpen();
+
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the current size of the log, in bytes, including any replaced and removed records.
+     *
+     * @return the log size
+     */
+    public long logSize() {
+
+        lock.readLock().lock();
+
+        try {
+            ensureOpen();
+
+            return logEnd;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts the log, keeping only the records of the currently stored contents.
+     *
+     * <p>
+     * A new log and index are written next to the current ones, and then moved in their place. The new log has a new
+     * generation, so if the store crashes after moving only the log, the index is rebuilt when opened.
+     * </p>
+     *
+     * @throws IOException
+     *             if compacting fails, in which case the current log and index are still used
+     */
+    public void compact() throws IOException {
+
+        lock.writeLock().lock();
+
+        try {
+            ensureOpen();
+
+            Path compactLog = dir.resolve(LOG + COMPACT);
+            Path compactIndex = dir.resolve(INDEX + COMPACT);
+
+            long g = generation + 1;
+            long p = LOG_HEADER;
+
+            FileChannel newLog = FileChannel.open(compactLog, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Index newIndex = null;
+
+            try {
+                newIndex = Index.create(compactIndex, Index.capacityFor(index.size()), g);
+                writeFully(newLog, logHeader(g), 0);
+
+                for (int slot = 0; slot < index.capacity(); slot++) {
+                    if (index.isEmpty(slot)) {
+                        continue;
+                    }
+
+                    int length = index.length(slot);
+                    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + length);
+
+                    readFully(log, record, index.offset(slot) - RECORD_HEADER);
+                    writeFully(newLog, record.flip(), p);
+                    newIndex.put(index.id(slot), p + RECORD_HEADER, length);
+
+                    p += record.capacity();
+                }
+
+                newIndex.logLength(p);
+                newLog.force(true);
+                newIndex.force();
+
+                Files.move(compactLog, dir.resolve(LOG), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                newLog.close();
+
+                if (newIndex != null) {
+                    newIndex.close();
+                }
+
+                Files.deleteIfExists(compactLog);
+                Files.deleteIfExists(compactIndex);
+
+                throw e;
+            }
+
+            Index old = index;
+
+            log.close();
+            log = newLog;
+            index = newIndex;
+            generation = g;
+            logEnd = p;
+
+            old.close();
+            remap();
+
+            // Until moved, the index file no longer matches the log, and is rebuilt if the store is opened again
+            Files.move(compactIndex, dir.resolve(INDEX), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces all written records, and the index, to the storage device.
+     *
+     * @throws IOException
+     *             if forcing fails
+     */
+    public void sync() throws IOException {
+
+        lock.writeLock().lock();
+
+        try {
+            ensureOpen();
+
+            log.force(true);
+            index.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        lock.writeLock().lock();
+
+        try {
+            closed = true;
+            segments.clear();
+
+            if (index != null) {
+                index.close();
+                index = null;
+            }
+
+            if (log != null) {
+                log.close();
+                log = null;
+            }
+
+            if (lockFile != null) {
+                lockFile.close();
+                lockFile = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long append(long id, int length, byte[] payload) throws IOException {
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + payload.length);
+        record.putInt(length).putLong(id).putInt(0).put(payload).flip();
+        record.putInt(12, crc(record, ByteBuffer.wrap(payload)));
+
+        long offset = logEnd;
+        writeFully(log, record, offset);
+        logEnd = offset + record.capacity();
+
+        return offset + RECORD_HEADER;
+    }
+
+    private void putIndex(long id, long offset, int length) throws IOException {
+
+        if (index.put(id, offset, length) && index.isFull()) {
+            Path grown = dir.resolve(INDEX + GROW);
+            Index bigger = Index.create(grown, index.capacity() * 2, generation);
+
+            for (int slot = 0; slot < index.capacity(); slot++) {
+                if (!index.isEmpty(slot)) {
+                    bigger.put(index.id(slot), index.offset(slot), index.length(slot));
+                }
+            }
+
+            bigger.logLength(index.logLength());
+            bigger.force();
+
+            Files.move(grown, dir.resolve(INDEX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            index.close();
+            index = bigger;
+        }
+    }
+
+    private static ByteBuffer logHeader(long generation) {
+
+        return ByteBuffer.allocate(LOG_HEADER).putInt(LOG_MAGIC).putInt(VERSION).putLong(generation).flip();
+    }
+
+    private static int crc(ByteBuffer header, ByteBuffer payload) {
+
+        CRC32 crc = new CRC32();
+        crc.update(header.array(), header.arrayOffset(), 12);
+        crc.update(payload.duplicate().clear());
+
+        return (int) crc.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+
+        long p = position;
+
+        while (buffer.hasRemaining()) {
+            p += channel.write(buffer, p);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+
+        long p = position;
+
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, p);
+
+            if (n < 0) {
+                throw new EOFException("Unexpected end of content store log, at " + p);
+            }
+
+            p += n;
+        }
+
+        return buffer;
+    }
+
+    /**
+     * A read-only mapping of the log, from the given offset.
+     */
+    private record Segment(long start, MappedByteBuffer buffer) {
+    }
+
+    /**
+     * Memory-mapped, open addressing hash table of ids, to record offsets and lengths.
+     *
+     * <p>
+     * Slots are probed linearly, and removals shift following entries back, so that no tombstones are needed. An empty
+     * slot has a zero length, which no record has. The header holds the generation of the log, and the length of the
+     * log covered by the index.
+     * </p>
+     */
+    private static final class Index {
+
+        static final int MIN_CAPACITY = 1024;
+
+        private static final int MAGIC = 0x43494458;
+        private static final int HEADER = 32;
+        private static final int SLOT = 24;
+        private static final int MAX_CAPACITY = 1 << 26;
+
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int size;
+
+        private Index(FileChannel channel, MappedByteBuffer buffer, int capacity, int size) {
+
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+            this.size = size;
+        }
+
+        static int capacityFor(int size) {
+
+            int capacity = MIN_CAPACITY;
+
+            while (capacity < MAX_CAPACITY && size * 2 >= capacity) {
+                capacity *= 2;
+            }
+
+            return capacity;
+        }
+
+        static Index create(Path file, int capacity, long generation) throws IOException {
+
+            if (capacity > MAX_CAPACITY) {
+                throw new IOException("Content store index is full, at " + MAX_CAPACITY / 2 + " ids");
+            }
+
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, HEADER + (long) capacity * SLOT);
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, capacity).putInt(12, 0).putLong(16, generation);
+
+            return new Index(channel, buffer, capacity, 0);
+        }
+
+        /**
+         * Opens an existing index, if it is valid for the log of the given generation and size.
+         */
+        static Index open(Path file, long generation, long logSize) throws IOException {
+
+            if (!Files.exists(file)) {
+                return null;
+            }
+
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            if (channel.size() >= HEADER) {
+                MappedByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER);
+                int capacity = header.getInt(8);
+                long logLength = header.getLong(24);
+
+                if (header.getInt(0) == MAGIC && header.getInt(4) == VERSION && header.getLong(16) == generation
+                        && Integer.bitCount(capacity) == 1 && capacity <= MAX_CAPACITY
+                        && channel.size() == HEADER + (long) capacity * SLOT && logLength >= LOG_HEADER
+                        && logLength <= logSize) {
+                    MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, channel.size());
+
+                    return new Index(channel, buffer, capacity, buffer.getInt(12));
+                }
+            }
+
+            channel.close();
+
+            return null;
+        }
+
+        int capacity() {
+
+            return capacity;
+        }
+
+        int size() {
+
+            return size;
+        }
+
+        boolean isFull() {
+
+            return size * 2 > capacity;
+        }
+
+        long logLength() {
+
+            return buffer.getLong(24);
+        }
+
+        void logLength(long length) {
+
+            buffer.putLong(24, length);
+        }
+
+        boolean isEmpty(int slot) {
+
+            return length(slot) == 0;
+        }
+
+        long id(int slot) {
+
+            return buffer.getLong(position(slot));
+        }
+
+        long offset(int slot) {
+
+            return buffer.getLong(position(slot) + 8);
+        }
+
+        int length(int slot) {
+
+            return buffer.getInt(position(slot) + 16);
+        }
+
+        int find(long id) {
+
+            for (int slot = home(id);; slot = (slot + 1) & (capacity - 1)) {
+                if (isEmpty(slot)) {
+                    return -1;
+                }
+
+                if (id(slot) == id) {
+                    return slot;
+                }
+            }
+        }
+
+        /**
+         * Puts the entry, and returns whether it is a new id.
+         */
+        boolean put(long id, long offset, int length) {
+
+            int slot = home(id);
+
+            while (!isEmpty(slot) && id(slot) != id) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+
+            boolean added = isEmpty(slot);
+            int p = position(slot);
+
+            buffer.putLong(p, id).putLong(p + 8, offset).putInt(p + 16, length);
+
+            if (added) {
+                buffer.putInt(12, ++size);
+            }
+
+            return added;
+        }
+
+        void remove(long id) {
+
+            int slot = find(id);
+
+            if (slot < 0) {
+                return;
+            }
+
+            int mask = capacity - 1;
+
+            for (int next = (slot + 1) & mask; !isEmpty(next); next = (next + 1) & mask) {
+                int home = home(id(next));
+
+                // Move the entry back, unless its home is cyclically within (slot, next]
+                boolean stays = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+
+                if (!stays) {
+                    copy(next, slot);
+                    slot = next;
+                }
+            }
+
+            buffer.putLong(position(slot), 0).putLong(position(slot) + 8, 0).putInt(position(slot) + 16, 0);
+            buffer.putInt(12, --size);
+        }
+
+        void force() {
+
+            buffer.force();
+        }
+
+        void close() throws IOException {
+
+            channel.close();
+        }
+
+        private void copy(int from, int to) {
+
+            buffer.putLong(position(to), id(from)).putLong(position(to) + 8, offset(from)).putInt(position(to) + 16,
+                    length(from));
+        }
+
+        private int home(long id) {
+
+            long h = id * 0x9E3779B97F4A7C15L;
+
+            return (int) (h ^ (h >>> 32)) & (capacity - 1);
+        }
+
+        private static int position(int slot) {
+
+            return HEADER + slot * SLOT;
+        }
+    }
+}
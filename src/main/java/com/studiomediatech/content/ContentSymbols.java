@@ -0,0 +1,259 @@
+package com.studiomediatech.content;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The shared symbol table, of the mime types and locales of content entries.
+ *
+ * <p>
+ * Shared by {@link MimeType#valueOf(String)}, the {@link ContentDeserializer}, the binary codec, the builders and
+ * {@link CompactContents}, so that entries with equal mime types and locales refer to the same instances, instead of
+ * each holding its own copy. Mime type strings are canonicalized to the string of their interned {@link MimeType}, and
+ * are the same strings as those of the {@link MimeType} constants. Equal strings then also compare by reference, which
+ * is the first check made by {@link String#equals(Object)}.
+ * </p>
+ *
+ * <p>
+ * Each distinct mime type and locale is given a small integer id, for storing entries compactly. Id {@code 0} is
+ * reserved for {@code null}, a missing locale. Both tables are bounded to {@value #MAX_SYMBOLS} values each. Once full,
+ * any new value is returned as is, not shared, and has no id.
+ * </p>
+ *
+ * <p>
+ * Values are read from untrusted input, and symbols are never removed. Only well-formed values are added, mime types of
+ * {@code type/subtype} of RFC 6838 restricted names, with any printable parameters, of at most
+ * {@value #MAX_MIME_TYPE_LENGTH} characters, and locales with language tags of at most {@value #MAX_LOCALE_LENGTH}
+ * characters, as recommended by BCP 47. Any other value is returned as is, and has no id.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ContentSymbols {
+
+    static final int MAX_SYMBOLS = 4096;
+    static final int MAX_MIME_TYPE_LENGTH = 127;
+    static final int MAX_LOCALE_LENGTH = 35;
+
+    private static final Symbols<String, MimeType> MIME_TYPES = new Symbols<>(ContentSymbols::isMimeType,
+            MimeType::new);
+    private static final Symbols<Locale, Locale> LOCALES = new Symbols<>(
+            locale -> locale.toLanguageTag().length() <= MAX_LOCALE_LENGTH, Function.identity());
+
+    private ContentSymbols() {
+        // Hidden
+    }
+
+    /**
+     * Returns the shared mime type instance for the given value.
+     *
+     * @param mimeType
+     *            the mime type value
+     *
+     * @return the shared mime type, or a new instance if the table is full, or the value is not well-formed
+     */
+    static MimeType mimeTypeOf(String mimeType) {
+
+        int id = MIME_TYPES.idOf(mimeType);
+
+        return id > 0 ? MIME_TYPES.get(id) : new MimeType(mimeType);
+    }
+
+    /**
+     * Returns the canonical instance of the given mime type string.
+     *
+     * @param mimeType
+     *            to canonicalize, may be {@code null}
+     *
+     * @return the shared mime type string, or {@code null} if given {@code null}
+     */
+    static String mimeType(String mimeType) {
+
+        int id = MIME_TYPES.idOf(mimeType);
+
+        return id > 0 ? MIME_TYPES.get(id).getMimeType() : mimeType;
+    }
+
+    /**
+     * Returns the canonical instance of the given locale.
+     *
+     * @param locale
+     *            to canonicalize, may be {@code null}
+     *
+     * @return the shared locale, or {@code null} if given {@code null}
+     */
+    static Locale locale(Locale locale) {
+
+        int id = LOCALES.idOf(locale);
+
+        return id > 0 ? LOCALES.get(id) : locale;
+    }
+
+    /**
+     * Returns the id of the given mime type value, adding it if new.
+     *
+     * @return the id, or {@code -1} if the table is full, or the value is not well-formed
+     */
+    static int mimeTypeId(String mimeType) {
+
+        return MIME_TYPES.idOf(mimeType);
+    }
+
+    /**
+     * Returns the id of the given mime type value, without adding it.
+     *
+     * @return the id, or {@code -1} if there is none
+     */
+    static int findMimeType(String mimeType) {
+
+        return MIME_TYPES.find(mimeType);
+    }
+
+    static MimeType mimeTypeAt(int id) {
+
+        return MIME_TYPES.get(id);
+    }
+
+    /**
+     * Returns the id of the given locale, adding it if new.
+     *
+     * @return the id, {@code 0} for {@code null}, or {@code -1} if the table is full, or the locale tag is too long
+     */
+    static int localeId(Locale locale) {
+
+        return LOCALES.idOf(locale);
+    }
+
+    static Locale localeAt(int id) {
+
+        return LOCALES.get(id);
+    }
+
+    /**
+     * Returns whether the given value is a well-formed mime type, to add to the table.
+     */
+    static boolean isMimeType(String mimeType) {
+
+        int length = mimeType.length();
+
+        if (length > MAX_MIME_TYPE_LENGTH) {
+            return false;
+        }
+
+        int slash = -1;
+        int i = 0;
+
+        for (; i < length; i++) {
+            char c = mimeType.charAt(i);
+
+            if (c == ';') {
+                break;
+            } else if (c == '/') {
+                if (slash >= 0 || i == 0) {
+                    return false;
+                }
+
+                slash = i;
+            } else if (!isRestrictedNameChar(c)) {
+                return false;
+            }
+        }
+
+        if (slash < 0 || slash == i - 1) {
+            return false;
+        }
+
+        for (; i < length; i++) {
+            char c = mimeType.charAt(i);
+
+            if (c < 0x20 || c > 0x7e) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isRestrictedNameChar(char c) {
+
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || "!#$&^_.+-".indexOf(c) >= 0;
+    }
+
+    /**
+     * Append-only table of symbols, giving each distinct key a small integer id.
+     *
+     * <p>
+     * Lookups of ids are lock-free, while adding a new symbol is synchronized. The symbol array is always republished
+     * after it is written to, so any id read from a table, or from compact contents, refers to a visible symbol.
+     * </p>
+     */
+    private static final class Symbols<K, V> {
+
+        private final Map<K, Integer> ids = new ConcurrentHashMap<>();
+        private final Predicate<K> valid;
+        private final Function<K, V> create;
+        private volatile Object[] symbols = new Object[16];
+        private int size = 1;
+
+        Symbols(Predicate<K> valid, Function<K, V> create) {
+
+            this.valid = valid;
+            this.create = create;
+        }
+
+        int idOf(K key) {
+
+            if (key == null) {
+                return 0;
+            }
+
+            Integer id = ids.get(key);
+
+            return id != null ? id : add(key);
+        }
+
+        int find(K key) {
+
+            Integer id = key == null ? null : ids.get(key);
+
+            return id != null ? id : -1;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(int id) {
+
+            return (V) symbols[id];
+        }
+
+        private synchronized int add(K key) {
+
+            Integer existing = ids.get(key);
+
+            if (existing != null) {
+                return existing;
+            }
+
+            if (size > MAX_SYMBOLS || !valid.test(key)) {
+                return -1;
+            }
+
+            Object[] s = symbols;
+
+            if (size == s.length) {
+                s = Arrays.copyOf(s, Math.min(s.length * 2, MAX_SYMBOLS + 1));
+            }
+
+            int id = size++;
+            s[id] = create.apply(key);
+            symbols = s;
+            ids.put(key, id);
+
+            return id;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.studiomediatech.content;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compiled message template, for rendering text content with arguments.
+ *
+ * <p>
+ * Patterns use the {@link java.text.MessageFormat} syntax for arguments and quoting, where {@code {0}} is replaced by
+ * the first argument, text within single quotes is literal and {@code ''} is a single quote. Only plain argument
+ * indexes are supported, no format types or styles, and arguments are appended as by {@link String#valueOf(Object)}. As
+ * for {@link java.text.MessageFormat}, an argument without a given value is rendered as is, for example {@code {3}}.
+ * </p>
+ *
+ * <p>
+ * Patterns are compiled once, into literal segments and argument indexes, and shared from a bounded cache, which is
+ * simply cleared when full. Rendering appends the segments and arguments to one pre-sized builder, without parsing the
+ * pattern again.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ContentTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 4096;
+    private static final int ARGUMENT_SIZE_HINT = 16;
+
+    private static final Map<String, ContentTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final String[] literals;
+    private final int[] arguments;
+    private final int length;
+
+    private ContentTemplate(String[] literals, int[] arguments) {
+
+        this.literals = literals;
+        this.arguments = arguments;
+
+        int l = 0;
+
+        for (String literal : literals) {
+            l += literal.length();
+        }
+
+        this.length = l;
+    }
+
+    /**
+     * Returns the compiled, and cached, template for the given pattern.
+     *
+     * @param pattern
+     *            to compile
+     *
+     * @return the template, never {@code null}
+     *
+     * @throws IllegalArgumentException
+     *             if the pattern is malformed, or uses format types or styles
+     */
+    static ContentTemplate of(String pattern) {
+
+        ContentTemplate template = TEMPLATES.get(pattern);
+
+        if (template == null) {
+            template = compile(pattern);
+
+            if (TEMPLATES.size() >= MAX_CACHED_TEMPLATES) {
+                TEMPLATES.clear();
+            }
+
+            TEMPLATES.put(pattern, template);
+        }
+
+        return template;
+    }
+
+    static ContentTemplate compile(String pattern) {
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == '{' && !quoted) {
+                int end = pattern.indexOf('}', i);
+
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unmatched braces in the pattern: " + pattern);
+                }
+
+                arguments.add(parseArgument(pattern, i + 1, end));
+                literals.add(literal.toString());
+                literal.setLength(0);
+                i = end;
+            } else {
+                literal.append(c);
+            }
+        }
+
+        literals.add(literal.toString());
+
+        return new ContentTemplate(literals.toArray(new String[0]),
+                arguments.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static int parseArgument(String pattern, int start, int end) {
+
+        String argument = pattern.substring(start, end);
+
+        if (argument.isEmpty() || argument.length() > 4 || !argument.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException(
+                    "Only plain argument indexes are supported, was {" + argument + "} in the pattern: " + pattern);
+        }
+
+        return Integer.parseInt(argument);
+    }
+
+    /**
+     * Renders this template with the given arguments.
+     *
+     * @param args
+     *            to render with
+     *
+     * @return the rendered text
+     */
+    String render(Object... args) {
+
+        StringBuilder sb = new StringBuilder(length + ARGUMENT_SIZE_HINT * arguments.length);
+
+        sb.append(literals[0]);
+
+        for (int i = 0; i < arguments.length; i++) {
+            int argument = arguments[i];
+
+            if (args != null && argument < args.length) {
+                sb.append(args[argument]);
+            } else {
+                sb.append('{').append(argument).append('}');
+            }
+
+            sb.append(literals[i + 1]);
+        }
+
+        return sb.toString();
+    }
+}
@@ -1,5 +1,15 @@
 package com.studiomediatech.content;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -8,8 +18,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import com.studiomediatech.content.ContentMetrics.Operation;
 
 /**
  * Chaining builder for common content, providing an easy to use and developer-friendly API for working with content
@@ -19,10 +30,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public final class Contents {
 
-    private final List<Content> values = new ArrayList<>();
+    private final List<Content> values;
+    private final ContentsIndex index;
+    private volatile LocaleResolver resolver;
+    private volatile byte[] json;
+    private volatile byte[] binary;
+    private volatile byte[] digest;
 
     private Contents() {
-        // Hidden
+
+        this(10);
+    }
+
+    private Contents(int expectedSize) {
+
+        this(new ArrayList<>(expectedSize), null);
     }
 
     /**
@@ -33,7 +55,82 @@ public final class Contents {
      */
     public Contents(List<Content> values) {
 
-        this.values.addAll(Optional.ofNullable(values).orElse(Collections.emptyList()));
+        this(new ArrayList<>(Optional.ofNullable(values).orElse(Collections.emptyList())), null);
+    }
+
+    private Contents(List<Content> values, ContentsIndex index) {
+
+        this.values = values;
+        this.index = index;
+    }
+
+    /**
+     * Creates contents of the given values, without copying them.
+     *
+     * @param values
+     *            a new, mutable list, not used by the caller afterwards
+     *
+     * @return the contents
+     */
+    static Contents of(List<Content> values) {
+
+        return new Contents(values, null);
+    }
+
+    /**
+     * Returns an indexed view of these contents.
+     *
+     * <p>
+     * The entries are indexed once, by mime type and locale language, and lookups with {@link #forMimeType(MimeType)}
+     * and {@link #forMimeTypeAndLocale(MimeType, Locale)} are then constant time, without any allocation. Results are
+     * the same as for the non-indexed contents, always returning the first matching entry.
+     * </p>
+     *
+     * @return an indexed contents instance, or this instance if it is already indexed
+     *
+     * @since 1.0
+     */
+    public Contents indexed() {
+
+        if (this.index != null) {
+            return this;
+        }
+
+        List<Content> copy = new ArrayList<>(this.values);
+
+        return new Contents(copy, ContentsIndex.of(copy));
+    }
+
+    /**
+     * Returns a compact, immutable form of these contents.
+     *
+     * <p>
+     * Intended for keeping large numbers of contents in memory, for example in caches. Entries are stored in parallel
+     * arrays, of mime type ids, locale ids and values, instead of as separate {@link Content} objects. The ids refer to
+     * tables shared by all compact contents, so that each distinct mime type and locale is held only once. Lookups
+     * compare ids, and any {@link Content} entry is created as a lightweight view when accessed, for example when
+     * serialized.
+     * </p>
+     *
+     * <p>
+     * The compact form is not indexed. Mime types and locales that are not in the shared tables, because they are full,
+     * with 4096 distinct values each, or the values are not well-formed, are held in tables of the compact instance
+     * only. If there are more than 32767 such distinct values, this instance is returned as is.
+     * </p>
+     *
+     * @return a compact contents instance, or this instance if it is already compact
+     *
+     * @since 1.0
+     */
+    public Contents compact() {
+
+        if (this.values instanceof CompactContents) {
+            return this;
+        }
+
+        CompactContents compact = CompactContents.of(this.values);
+
+        return compact == null ? this : new Contents(compact, null);
     }
 
     /**
@@ -49,6 +146,152 @@ public final class Contents {
         return new ContentBuilder(mimeType, new Contents());
     }
 
+    /**
+     * Creates a new reusable contents builder, for the expected number of content entries.
+     *
+     * <p>
+     * Unlike {@link #withMimeType(MimeType)}, which creates a new builder for each added value, the reusable builder
+     * appends all values to one pre-sized list, and can be reset and used again.
+     * </p>
+     *
+     * @param expectedSize
+     *            number of content entries to pre-size for
+     *
+     * @return a new reusable builder instance
+     *
+     * @since 1.0
+     */
+    public static Reusable builder(int expectedSize) {
+
+        return new ReusableContentBuilder(expectedSize);
+    }
+
+    /**
+     * Reads contents from its compact binary encoding, as written by {@link Buildable#asBinary()}.
+     *
+     * @param bytes
+     *            to read from
+     *
+     * @return a new contents instance
+     *
+     * @throws IllegalArgumentException
+     *             if the bytes are not valid binary encoded contents
+     *
+     * @since 1.0
+     */
+    public static Contents fromBinary(byte[] bytes) {
+
+        return fromBinary(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Reads contents from its compact binary encoding, as written by {@link Buildable#asBinary()}, starting at the
+     * current position of the given buffer. The buffer position is advanced past the read contents.
+     *
+     * @param buffer
+     *            to read from
+     *
+     * @return a new contents instance
+     *
+     * @throws IllegalArgumentException
+     *             if the bytes are not valid binary encoded contents
+     *
+     * @since 1.0
+     */
+    public static Contents fromBinary(ByteBuffer buffer) {
+
+        return new Contents(ContentsBinary.decode(buffer));
+    }
+
+    /**
+     * Creates a lazy reader of contents documents, from a JSON array or newline-delimited JSON.
+     *
+     * <p>
+     * Each document is a JSON object, with the content entries in a {@code contents} array. Documents are read one at a
+     * time, as the reader is iterated or streamed, see {@link ContentsReader}.
+     * </p>
+     *
+     * @param in
+     *            to read from, which is closed when the reader is closed
+     *
+     * @return a new reader
+     *
+     * @throws IOException
+     *             if the reader could not be created
+     *
+     * @since 1.0
+     */
+    public static ContentsReader reader(InputStream in) throws IOException {
+
+        return new ContentsReader(in);
+    }
+
+    /**
+     * Creates a bulk writer of contents documents, in the given format, with the default flush size.
+     *
+     * @param out
+     *            to write to, which is flushed but not closed when the writer is closed
+     * @param format
+     *            of the output
+     *
+     * @return a new writer
+     *
+     * @throws IOException
+     *             if the writer could not be created
+     *
+     * @since 1.0
+     */
+    public static ContentsWriter writer(OutputStream out, ContentsWriter.Format format) throws IOException {
+
+        return writer(out, format, ContentsWriter.DEFAULT_FLUSH_SIZE);
+    }
+
+    /**
+     * Creates a bulk writer of contents documents, in the given format, see {@link ContentsWriter}.
+     *
+     * @param out
+     *            to write to, which is flushed but not closed when the writer is closed
+     * @param format
+     *            of the output
+     * @param flushSize
+     *            number of bytes to buffer, before writing to the output stream
+     *
+     * @return a new writer
+     *
+     * @throws IOException
+     *             if the writer could not be created
+     *
+     * @since 1.0
+     */
+    public static ContentsWriter writer(OutputStream out, ContentsWriter.Format format, int flushSize)
+            throws IOException {
+
+        return new ContentsWriter(out, format, flushSize);
+    }
+
+    /**
+     * Creates a bulk writer of contents documents, in the given format, see {@link ContentsWriter}.
+     *
+     * @param channel
+     *            to write to, which is not closed when the writer is closed
+     * @param format
+     *            of the output
+     * @param flushSize
+     *            number of bytes to buffer, before writing to the channel
+     *
+     * @return a new writer
+     *
+     * @throws IOException
+     *             if the writer could not be created
+     *
+     * @since 1.0
+     */
+    public static ContentsWriter writer(WritableByteChannel channel, ContentsWriter.Format format, int flushSize)
+            throws IOException {
+
+        return new ContentsWriter(Channels.newOutputStream(channel), format, flushSize);
+    }
+
     /**
      * Retrieves the content matching the given MIME-type.
      *
@@ -64,8 +307,36 @@ public final class Contents {
     @SuppressWarnings("unchecked")
     public <T> T forMimeType(MimeType mimeType) {
 
-        return (T) this.values.stream().filter(c -> c.forMimeType(mimeType)).findFirst().map(Content::getContent)
-                .orElse(null);
+        ContentMetrics m = Instrumentation.metrics;
+
+        if (m == null) {
+            return (T) findMimeType(mimeType);
+        }
+
+        long start = System.nanoTime();
+        Object value = findMimeType(mimeType);
+        Instrumentation.lookup(m, mimeType, start, value != null);
+
+        return (T) value;
+    }
+
+    private Object findMimeType(MimeType mimeType) {
+
+        if (this.index != null) {
+            return valueOf(this.index.forMimeType(mimeType));
+        }
+
+        if (this.values instanceof CompactContents compact) {
+            return compact.forMimeType(mimeType);
+        }
+
+        for (Content content : this.values) {
+            if (content.forMimeType(mimeType)) {
+                return content.getContent();
+            }
+        }
+
+        return null;
     }
 
     /**
@@ -85,8 +356,362 @@ public final class Contents {
     @SuppressWarnings("unchecked")
     public <T> T forMimeTypeAndLocale(MimeType mimeType, Locale locale) {
 
-        return (T) this.values.stream().filter(c -> c.forMimeTypeAndLocale(mimeType, locale)).findFirst()
-                .map(Content::getContent).orElse(null);
+        ContentMetrics m = Instrumentation.metrics;
+
+        if (m == null) {
+            return (T) findMimeTypeAndLocale(mimeType, locale);
+        }
+
+        long start = System.nanoTime();
+        Object value = findMimeTypeAndLocale(mimeType, locale);
+        Instrumentation.lookup(m, mimeType, start, value != null);
+
+        return (T) value;
+    }
+
+    private Object findMimeTypeAndLocale(MimeType mimeType, Locale locale) {
+
+        if (this.index != null) {
+            return valueOf(this.index.forMimeTypeAndLocale(mimeType, locale));
+        }
+
+        String language = locale.getLanguage();
+
+        if (this.values instanceof CompactContents compact) {
+            return compact.forMimeTypeAndLanguage(mimeType, language);
+        }
+
+        for (Content content : this.values) {
+            if (content.forMimeTypeAndLanguage(mimeType, language)) {
+                return content.getContent();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Retrieves all content entries, that are variants of the given MIME-type.
+     *
+     * <p>
+     * Variants share the same base type, but may have any parameters. For example all classes of an application icon,
+     * such as {@code text/vnd.content.appicon;class=small}, are variants of {@link MimeType#TEXT_APPICON}.
+     * </p>
+     *
+     * @param mimeType
+     *            to retrieve the variants of, any parameters are ignored
+     *
+     * @return an unmodifiable list of the content entries found, in order, empty if none could be found
+     *
+     * @since 1.0
+     */
+    public List<Content> forMimeTypeVariants(MimeType mimeType) {
+
+        ContentMetrics m = Instrumentation.metrics;
+
+        if (m == null) {
+            return findMimeTypeVariants(mimeType);
+        }
+
+        long start = System.nanoTime();
+        List<Content> variants = findMimeTypeVariants(mimeType);
+        Instrumentation.lookup(m, mimeType, start, !variants.isEmpty());
+
+        return variants;
+    }
+
+    private List<Content> findMimeTypeVariants(MimeType mimeType) {
+
+        if (this.index != null) {
+            return this.index.forMimeTypeVariants(mimeType);
+        }
+
+        List<Content> variants = new ArrayList<>();
+
+        for (Content content : this.values) {
+            if (content.isVariantOf(mimeType)) {
+                variants.add(content);
+            }
+        }
+
+        return Collections.unmodifiableList(variants);
+    }
+
+    /**
+     * Retrieves the content matching the given MIME-type, that best matches the language priority list.
+     *
+     * <p>
+     * Each language range is tried in priority order, and progressively truncated, so that a range for {@code sv-FI}
+     * falls back to {@code sv}. This is the <i>lookup</i> scheme of RFC 4647. If no range matches, the content without
+     * any locale is used as the default.
+     * </p>
+     *
+     * <p>
+     * Results are cached, so repeated resolution for the same MIME-type and priority list is a single lookup.
+     * </p>
+     *
+     * @param mimeType
+     *            predicate to match
+     * @param ranges
+     *            language priority list, in order of preference
+     * @param <T>
+     *            inferring the type of content to retrieve
+     *
+     * @return the content value found, or {@code null} if no content could be found
+     *
+     * @since 1.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T forMimeTypeAndLanguages(MimeType mimeType, List<Locale.LanguageRange> ranges) {
+
+        ContentMetrics m = Instrumentation.metrics;
+
+        if (m == null) {
+            return (T) valueOf(resolver().resolve(mimeType, ranges));
+        }
+
+        long start = System.nanoTime();
+        Object value = valueOf(resolver().resolve(mimeType, ranges));
+        Instrumentation.lookup(m, mimeType, start, value != null);
+
+        return (T) value;
+    }
+
+    /**
+     * Retrieves the content matching the given MIME-type, that best matches an {@code Accept-Language} header value.
+     *
+     * <p>
+     * Parsed header values are cached, and resolves as for {@link #forMimeTypeAndLanguages(MimeType, List)}. A missing
+     * or malformed header value resolves to the content without any locale.
+     * </p>
+     *
+     * @param mimeType
+     *            predicate to match
+     * @param acceptLanguage
+     *            the {@code Accept-Language} header value, for example {@code sv-FI, sv;q=0.8, en;q=0.5}
+     * @param <T>
+     *            inferring the type of content to retrieve
+     *
+     * @return the content value found, or {@code null} if no content could be found
+     *
+     * @since 1.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T forMimeTypeAndAcceptLanguage(MimeType mimeType, String acceptLanguage) {
+
+        ContentMetrics m = Instrumentation.metrics;
+
+        if (m == null) {
+            return (T) valueOf(resolver().resolve(mimeType, acceptLanguage));
+        }
+
+        long start = System.nanoTime();
+        Object value = valueOf(resolver().resolve(mimeType, acceptLanguage));
+        Instrumentation.lookup(m, mimeType, start, value != null);
+
+        return (T) value;
+    }
+
+    /**
+     * Renders the text content matching the given MIME-type and locale, as a message template with the given arguments.
+     *
+     * <p>
+     * The content is resolved as for a language priority list of only the given locale, so that {@code sv-FI} falls
+     * back to {@code sv}, and then to the content without any locale. Its value is a pattern, in the
+     * {@link java.text.MessageFormat} syntax, with plain argument indexes only, for example {@code Hello {0}, you have
+     * {1} new messages}. Arguments are appended as by {@link String#valueOf(Object)}.
+     * </p>
+     *
+     * <p>
+     * Each pattern is compiled once, and cached, so that rendering does not parse it again.
+     * </p>
+     *
+     * @param mimeType
+     *            predicate to match
+     * @param locale
+     *            to resolve the content for
+     * @param args
+     *            to render the template with
+     *
+     * @return the rendered text, or {@code null} if no content could be found
+     *
+     * @throws IllegalArgumentException
+     *             if the content is not text, or not a valid pattern
+     *
+     * @since 1.0
+     */
+    public String render(MimeType mimeType, Locale locale, Object... args) {
+
+        Object value = valueOf(resolver().resolve(mimeType, locale));
+
+        if (value == null) {
+            return null;
+        }
+
+        if (!(value instanceof String pattern)) {
+            throw new IllegalArgumentException("Only text content can be rendered, was " + value.getClass().getName());
+        }
+
+        return ContentTemplate.of(pattern).render(args);
+    }
+
+    /**
+     * Returns the canonical SHA-256 digest of these contents, over all entries in order.
+     *
+     * <p>
+     * Contents with equal entries, in the same order, have equal digests, where binary content is digested by its
+     * bytes, however it is held. The digest is computed once, from the cached digest of each entry, and cached, so it
+     * can be used as a fast check of whether contents are equal.
+     * </p>
+     *
+     * @return a copy of the 32 byte digest
+     *
+     * @since 1.0
+     */
+    public byte[] digest() {
+
+        return digestBytes().clone();
+    }
+
+    /**
+     * Returns a strong HTTP entity tag for these contents, of their {@link #digest() digest}.
+     *
+     * @return the quoted entity tag, for example {@code "k2vXbVDOSz7Cl8pZrqU3..."}
+     *
+     * @since 1.0
+     */
+    public String etag() {
+
+        return ContentDigest.etag(digestBytes());
+    }
+
+    /**
+     * Returns the patch from these contents to the given, newer version, see {@link ContentsPatch}.
+     *
+     * @param target
+     *            the newer version
+     *
+     * @return the patch, which applied to these contents results in the target
+     *
+     * @since 1.0
+     */
+    public ContentsPatch diff(Contents target) {
+
+        return ContentsPatch.diff(this, target);
+    }
+
+    byte[] digestBytes() {
+
+        byte[] d = this.digest;
+
+        if (d == null) {
+            d = ContentDigest.of(this.values);
+            this.digest = d;
+        }
+
+        return d;
+    }
+
+    /**
+     * Returns the content entries, which must not be modified.
+     *
+     * @return list of entries
+     */
+    List<Content> values() {
+
+        return this.values;
+    }
+
+    /**
+     * Appends an entry, invalidating any memoized encodings and resolutions.
+     */
+    private void add(Content content) {
+
+        this.values.add(content);
+        this.resolver = null;
+        this.json = null;
+        this.binary = null;
+        this.digest = null;
+    }
+
+    /**
+     * Removes all entries, invalidating any memoized encodings and resolutions.
+     */
+    private void clear() {
+
+        this.values.clear();
+        this.resolver = null;
+        this.json = null;
+        this.binary = null;
+        this.digest = null;
+    }
+
+    /**
+     * Returns the memoized JSON encoding of the entries, encoding them on the first call. Entries with buffer values
+     * are encoded on every call, and never memoized, so that mapped, direct or pooled values are not copied to the heap
+     * for the life of the contents.
+     */
+    private byte[] json() {
+
+        byte[] j = this.json;
+
+        if (j == null) {
+            j = ContentsJson.encode(this.values);
+
+            if (isMemoizable()) {
+                this.json = j;
+            }
+        }
+
+        return j;
+    }
+
+    /**
+     * Returns the memoized binary encoding of the entries, encoding them on the first call.
+     */
+    private byte[] binary() {
+
+        byte[] b = this.binary;
+
+        if (b == null) {
+            b = ContentsBinary.encode(this.values);
+
+            if (isMemoizable()) {
+                this.binary = b;
+            }
+        }
+
+        return b;
+    }
+
+    private boolean isMemoizable() {
+
+        for (Content content : this.values) {
+            Object value = content.value();
+
+            if (value instanceof ByteBuffer || value instanceof ContentBuffer) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private LocaleResolver resolver() {
+
+        LocaleResolver r = this.resolver;
+
+        if (r == null) {
+            r = new LocaleResolver(this.values);
+            this.resolver = r;
+        }
+
+        return r;
+    }
+
+    private static Object valueOf(Content content) {
+
+        return content == null ? null : content.getContent();
     }
 
     /**
@@ -129,6 +754,41 @@ public final class Contents {
          * @return a buildable builder
          */
         Buildable andValue(byte[] value);
+
+        /**
+         * Adds a binary value to the builder, from the remaining bytes of the given buffer.
+         *
+         * <p>
+         * The buffer is not copied, which allows for off-heap and memory-mapped content, for example a
+         * {@link java.nio.MappedByteBuffer} from a {@link java.nio.channels.FileChannel}. The content is kept as a
+         * read-only view of the bytes between the current position and limit, neither of which are changed. Serializing
+         * the content streams the bytes from the buffer, in chunks.
+         * </p>
+         *
+         * @param value
+         *            to add
+         *
+         * @return a buildable builder
+         *
+         * @since 1.0
+         */
+        Buildable andValue(ByteBuffer value);
+
+        /**
+         * Adds an off-heap binary value to the builder, held by the given buffer of a {@link ContentBufferPool}.
+         *
+         * <p>
+         * The bytes are not copied. The contents must not be used after the buffer is closed.
+         * </p>
+         *
+         * @param value
+         *            to add
+         *
+         * @return a buildable builder
+         *
+         * @since 1.0
+         */
+        Buildable andValue(ContentBuffer value);
     }
 
     /**
@@ -178,47 +838,380 @@ public final class Contents {
         /**
          * Builds the resulting content as a JSON string.
          *
+         * <p>
+         * The JSON encoding is memoized on the first call, and reused until more values are added. Content values must
+         * therefore not be modified after having been serialized. Contents with {@link ByteBuffer} or
+         * {@link ContentBuffer} values are encoded on every call instead, and never memoized.
+         * </p>
+         *
          * @return a JSON string
          */
         String asJSON();
+
+        /**
+         * Builds the resulting content as JSON, encoded in UTF-8, as a read-only buffer.
+         *
+         * <p>
+         * The buffer wraps the memoized encoding, as for {@link #asJSON()}, without copying it. Intended for handing
+         * the same encoded contents to many responses, for example when broadcasting a notification.
+         * </p>
+         *
+         * @return a read-only buffer of the JSON bytes
+         *
+         * @since 1.0
+         */
+        ByteBuffer asJSONBuffer();
+
+        /**
+         * Writes the resulting content as JSON, encoded in UTF-8, to the given output stream.
+         *
+         * <p>
+         * The JSON is streamed directly from the content entries, without any intermediate representation, unless it is
+         * already memoized by {@link #asJSON()} or {@link #asJSONBuffer()}. The stream is flushed but not closed.
+         * </p>
+         *
+         * @param out
+         *            to write to
+         *
+         * @throws IOException
+         *             if writing to the stream fails
+         *
+         * @since 1.0
+         */
+        void writeJSON(OutputStream out) throws IOException;
+
+        /**
+         * Writes the resulting content as JSON to the given writer.
+         *
+         * <p>
+         * The JSON is streamed directly from the content entries, without any intermediate representation. The writer
+         * is flushed but not closed.
+         * </p>
+         *
+         * @param writer
+         *            to write to
+         *
+         * @throws IOException
+         *             if writing fails
+         *
+         * @since 1.0
+         */
+        void writeJSON(Writer writer) throws IOException;
+
+        /**
+         * Writes the resulting content as a JSON array, to the given generator.
+         *
+         * <p>
+         * Allows for embedding the contents in a larger JSON document. The generator is neither flushed nor closed.
+         * </p>
+         *
+         * @param gen
+         *            to write to
+         *
+         * @throws IOException
+         *             if writing fails
+         *
+         * @since 1.0
+         */
+        void writeJSON(JsonGenerator gen) throws IOException;
+
+        /**
+         * Builds the resulting content in a compact binary encoding.
+         *
+         * <p>
+         * Intended for service-to-service traffic and caches, where it is smaller and faster to read than JSON. Use
+         * {@link Contents#fromBinary(byte[])} to read it. Supports text and binary content values.
+         * </p>
+         *
+         * <p>
+         * The encoding is memoized on the first call, and reused until more values are added, each call returns a copy.
+         * As for {@link #asJSON()}, contents with buffer values are not memoized.
+         * </p>
+         *
+         * @return the encoded bytes
+         *
+         * @since 1.0
+         */
+        byte[] asBinary();
+
+        /**
+         * Builds the resulting content in a compact binary encoding, as a read-only buffer.
+         *
+         * <p>
+         * The buffer wraps the memoized encoding, as for {@link #asBinary()}, without copying it.
+         * </p>
+         *
+         * @return a read-only buffer of the encoded bytes
+         *
+         * @since 1.0
+         */
+        ByteBuffer asBinaryBuffer();
+
+        /**
+         * Writes the resulting content in a compact binary encoding, as for {@link #asBinary()}, to the given output
+         * stream. The memoized encoding is written if there is one, otherwise the entries are written directly. The
+         * stream is neither flushed nor closed.
+         *
+         * @param out
+         *            to write to
+         *
+         * @throws IOException
+         *             if writing to the stream fails
+         *
+         * @since 1.0
+         */
+        void writeBinary(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Reusable builder, which can be reset and used again for building new contents.
+     *
+     * <p>
+     * Entries are appended into a pre-sized list, by one single builder instance, which is returned from all the
+     * {@link Builder}, {@link Appendable} and {@link Buildable} methods. Resetting the builder keeps the allocated
+     * capacity for the next use. A reusable builder is not thread-safe, and is intended to be kept per thread or per
+     * task.
+     * </p>
+     *
+     * <pre>
+     * <code>
+    Reusable builder = Contents.builder(8);
+
+    String json = builder.reset().withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello").asJSON();
+    </code>
+     * </pre>
+     *
+     * @since 1.0
+     */
+    public interface Reusable {
+
+        /**
+         * Starts building with the given mime-type.
+         *
+         * @param mimeType
+         *            to start building with
+         *
+         * @return the builder
+         */
+        Builder withMimeType(MimeType mimeType);
+
+        /**
+         * Resets the builder, removing all previously added content entries.
+         *
+         * <p>
+         * Any list returned by {@link Buildable#asList()} is a copy, and is not affected.
+         * </p>
+         *
+         * @return the reset builder
+         */
+        Reusable reset();
+    }
+
+    private abstract static class AbstractContentBuilder implements Buildable {
+
+        protected final Contents contents;
+
+        private AbstractContentBuilder(Contents contents) {
+
+            this.contents = contents;
+        }
+
+        @Override
+        public List<Content> asList() {
+
+            return Collections.unmodifiableList(new ArrayList<>(this.contents.values));
+        }
+
+        @Override
+        public List<Map<String, Object>> asMap() {
+
+            Instrumentation.Timing timing = Instrumentation.encoding();
+
+            List<Map<String, Object>> maps = this.contents.values.stream().map(Content::asMap)
+                    .collect(Collectors.toList());
+
+            timing.end(Operation.AS_MAP, "asMap", this.contents.values, -1);
+
+            return maps;
+        }
+
+        @Override
+        public String asJSON() {
+
+            Instrumentation.Timing timing = Instrumentation.encoding();
+
+            byte[] j = this.contents.json();
+            String json = new String(j, StandardCharsets.UTF_8);
+
+            timing.end(Operation.AS_JSON, "asJSON", this.contents.values, j.length);
+
+            return json;
+        }
+
+        @Override
+        public ByteBuffer asJSONBuffer() {
+
+            Instrumentation.Timing timing = Instrumentation.encoding();
+
+            ByteBuffer json = ByteBuffer.wrap(this.contents.json()).asReadOnlyBuffer();
+
+            timing.end(Operation.AS_JSON, "asJSONBuffer", this.contents.values, json.remaining());
+
+            return json;
+        }
+
+        @Override
+        public void writeJSON(OutputStream out) throws IOException {
+
+            Instrumentation.Timing timing = Instrumentation.encoding();
+
+            byte[] j = this.contents.json;
+
+            if (j != null) {
+                out.write(j);
+                out.flush();
+            } else {
+                try (JsonGenerator gen = ContentsJson.MAPPER.createGenerator(out)) {
+                    writeJSON(gen);
+                }
+            }
+
+            timing.end(Operation.AS_JSON, "writeJSON", this.contents.values, j != null ? j.length : -1);
+        }
+
+        @Override
+        public void writeJSON(Writer writer) throws IOException {
+
+            Instrumentation.Timing timing = Instrumentation.encoding();
+
+            try (JsonGenerator gen = ContentsJson.MAPPER.createGenerator(writer)) {
+                writeJSON(gen);
+            }
+
+            timing.end(Operation.AS_JSON, "writeJSON", this.contents.values, -1);
+        }
+
+        @Override
+        public void writeJSON(JsonGenerator gen) throws IOException {
+
+            ContentsJson.writeArray(gen, this.contents.values);
+        }
+
+        @Override
+        public byte[] asBinary() {
+
+            return this.contents.binary().clone();
+        }
+
+        @Override
+        public ByteBuffer asBinaryBuffer() {
+
+            return ByteBuffer.wrap(this.contents.binary()).asReadOnlyBuffer();
+        }
+
+        @Override
+        public void writeBinary(OutputStream out) throws IOException {
+
+            byte[] b = this.contents.binary;
+
+            if (b != null) {
+                out.write(b);
+            } else {
+                ContentsBinary.write(out, this.contents.values);
+            }
+        }
+
+        protected static boolean isNullOrEmpty(String value) {
+
+            if (value == null) {
+                return true;
+            }
+
+            // Same as value.trim().isEmpty(), without allocating
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) > ' ') {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        protected static boolean isNullOrSizeZero(byte[] value) {
+
+            return value == null || value.length == 0;
+        }
+
+        protected static boolean isNullOrSizeZero(ByteBuffer value) {
+
+            return value == null || !value.hasRemaining();
+        }
+
+        protected static boolean isNullOrSizeZero(ContentBuffer value) {
+
+            return value == null || value.size() == 0;
+        }
     }
 
-    private static final class ContentBuilder implements Buildable {
+    private static final class ContentBuilder extends AbstractContentBuilder {
 
-        private final Contents contents;
         private final MimeType mimeType;
 
         private ContentBuilder(MimeType mimeType, Contents contents) {
 
+            super(contents);
+
             this.mimeType = mimeType;
-            this.contents = contents;
         }
 
         private ContentBuilder(ContentBuilder contentBuilder, String value) {
 
+            super(contentBuilder.contents);
+
             this.mimeType = contentBuilder.mimeType;
-            this.contents = contentBuilder.contents;
 
             Content content = new Content(this.mimeType.getMimeType(), value);
-            this.contents.values.add(content);
+            this.contents.add(content);
         }
 
         public ContentBuilder(ContentBuilder contentBuilder, byte[] value) {
 
+            super(contentBuilder.contents);
+
+            this.mimeType = contentBuilder.mimeType;
+
+            Content content = new Content(this.mimeType.getMimeType(), value);
+            this.contents.add(content);
+        }
+
+        private ContentBuilder(ContentBuilder contentBuilder, ByteBuffer value) {
+
+            super(contentBuilder.contents);
+
+            this.mimeType = contentBuilder.mimeType;
+
+            Content content = new Content(this.mimeType.getMimeType(), value.slice().asReadOnlyBuffer());
+            this.contents.add(content);
+        }
+
+        private ContentBuilder(ContentBuilder contentBuilder, ContentBuffer value) {
+
+            super(contentBuilder.contents);
+
             this.mimeType = contentBuilder.mimeType;
-            this.contents = contentBuilder.contents;
 
             Content content = new Content(this.mimeType.getMimeType(), value);
-            this.contents.values.add(content);
+            this.contents.add(content);
         }
 
         private ContentBuilder(ContentBuilder contentBuilder, String value, Locale locale) {
 
+            super(contentBuilder.contents);
+
             this.mimeType = contentBuilder.mimeType;
-            this.contents = contentBuilder.contents;
 
-            Content content = new Content(this.mimeType.getMimeType(), value, locale);
-            this.contents.values.add(content);
+            Content content = new Content(this.mimeType.getMimeType(), value, ContentSymbols.locale(locale));
+            this.contents.add(content);
         }
 
         @Override
@@ -227,20 +1220,22 @@ public final class Contents {
             return isNullOrEmpty(value) ? this : new ContentBuilder(this, value);
         }
 
-        private boolean isNullOrEmpty(String value) {
+        @Override
+        public Buildable andValue(byte[] value) {
 
-            return value == null || value.trim().isEmpty();
+            return isNullOrSizeZero(value) ? this : new ContentBuilder(this, value);
         }
 
         @Override
-        public Buildable andValue(byte[] value) {
+        public Buildable andValue(ByteBuffer value) {
 
             return isNullOrSizeZero(value) ? this : new ContentBuilder(this, value);
         }
 
-        private boolean isNullOrSizeZero(byte[] value) {
+        @Override
+        public Buildable andValue(ContentBuffer value) {
 
-            return value == null || value.length == 0;
+            return isNullOrSizeZero(value) ? this : new ContentBuilder(this, value);
         }
 
         @Override
@@ -254,27 +1249,90 @@ public final class Contents {
 
             return new ContentBuilder(mimeType, contents);
         }
+    }
+
+    private static final class ReusableContentBuilder extends AbstractContentBuilder implements Reusable {
+
+        private MimeType mimeType;
+
+        private ReusableContentBuilder(int expectedSize) {
+
+            super(new Contents(expectedSize));
+        }
 
         @Override
-        public List<Content> asList() {
+        public Builder withMimeType(MimeType mimeType) {
 
-            return Collections.unmodifiableList(new ArrayList<>(this.contents.values));
+            this.mimeType = mimeType;
+
+            return this;
         }
 
         @Override
-        public List<Map<String, Object>> asMap() {
+        public Reusable reset() {
+
+            this.contents.clear();
+            this.mimeType = null;
 
-            return this.contents.values.stream().map(Content::asMap).collect(Collectors.toList());
+            return this;
         }
 
         @Override
-        public String asJSON() {
+        public Buildable andValue(String value) {
+
+            if (!isNullOrEmpty(value)) {
+                this.contents.add(new Content(this.mimeType.getMimeType(), value));
+            }
 
-            try {
-                return new ObjectMapper().writeValueAsString(asMap());
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("Could not write contents as JSON string", e);
+            return this;
+        }
+
+        @Override
+        public Buildable andValue(byte[] value) {
+
+            if (!isNullOrSizeZero(value)) {
+                this.contents.add(new Content(this.mimeType.getMimeType(), value));
+            }
+
+            return this;
+        }
+
+        @Override
+        public Buildable andValue(ByteBuffer value) {
+
+            if (!isNullOrSizeZero(value)) {
+                this.contents.add(new Content(this.mimeType.getMimeType(), value.slice().asReadOnlyBuffer()));
+            }
+
+            return this;
+        }
+
+        @Override
+        public Buildable andValue(ContentBuffer value) {
+
+            if (!isNullOrSizeZero(value)) {
+                this.contents.add(new Content(this.mimeType.getMimeType(), value));
+            }
+
+            return this;
+        }
+
+        @Override
+        public Buildable andValue(String value, Locale locale) {
+
+            if (!isNullOrEmpty(value)) {
+                this.contents.add(new Content(this.mimeType.getMimeType(), value, ContentSymbols.locale(locale)));
             }
+
+            return this;
+        }
+
+        @Override
+        public Builder andWithMimeType(MimeType mimeType) {
+
+            this.mimeType = mimeType;
+
+            return this;
         }
     }
 }
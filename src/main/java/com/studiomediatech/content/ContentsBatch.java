@@ -0,0 +1,262 @@
+package com.studiomediatech.content;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel decoding of batches of JSON contents documents.
+ *
+ * <p>
+ * Documents are decoded by a number of tasks, given by the parallelism, on the common {@link ForkJoinPool} or any given
+ * executor, for example one running virtual threads:
+ * </p>
+ *
+ * <pre>
+ * <code>
+try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+    List&lt;Contents&gt; contents = ContentsBatch.decode(payloads, executor, 16);
+}
+   </code>
+ * </pre>
+ *
+ * <p>
+ * Up to one task per document is started, and each task claims a few documents at a time, about a quarter of its share,
+ * until all are decoded, so that the work is spread evenly even if the documents differ in size, and even small batches
+ * of large documents are decoded in parallel. Results are always returned in input order. If any document fails to
+ * decode, the remaining documents are skipped, and the first failure is thrown.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentsBatch {
+
+    private static final int CLAIMS_PER_TASK = 4;
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private ContentsBatch() {
+        // Hidden
+    }
+
+    /**
+     * Decodes the given payloads in parallel, on the common {@link ForkJoinPool}, using its full parallelism.
+     *
+     * @param payloads
+     *            to decode, each a JSON array of content entries, as written by {@link Contents.Buildable#asJSON()}
+     *
+     * @return an unmodifiable list of the decoded contents, in input order
+     *
+     * @throws IOException
+     *             if any payload could not be decoded
+     */
+    public static List<Contents> decode(List<byte[]> payloads) throws IOException {
+
+        return decode(payloads, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Decodes the given payloads in parallel, with the given executor and parallelism.
+     *
+     * @param payloads
+     *            to decode, each a JSON array of content entries, as written by {@link Contents.Buildable#asJSON()}
+     * @param executor
+     *            to run the decoding tasks on
+     * @param parallelism
+     *            the maximum number of decoding tasks to run
+     *
+     * @return an unmodifiable list of the decoded contents, in input order
+     *
+     * @throws IOException
+     *             if any payload could not be decoded
+     */
+    public static List<Contents> decode(List<byte[]> payloads, Executor executor, int parallelism) throws IOException {
+
+        return decodeAll(payloads, ContentsJson.READER::readValue, executor, parallelism);
+    }
+
+    /**
+     * Decodes a newline-delimited JSON file of contents documents in parallel, with the given executor and parallelism.
+     *
+     * <p>
+     * Each line is a document, in the form read by {@link ContentsReader}, and blank lines are skipped. The file is
+     * read in chunks of whole lines, of about 4 MiB, where each chunk is decoded in parallel while the next one is
+     * read.
+     * </p>
+     *
+     * @param file
+     *            to decode
+     * @param executor
+     *            to run the decoding tasks on
+     * @param parallelism
+     *            the maximum number of decoding tasks to run
+     *
+     * @return an unmodifiable list of the decoded contents, in file order
+     *
+     * @throws IOException
+     *             if the file could not be read, or any document could not be decoded
+     */
+    public static List<Contents> decodeLines(Path file, Executor executor, int parallelism) throws IOException {
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive, was " + parallelism);
+        }
+
+        List<Contents> results = new ArrayList<>();
+        CompletableFuture<List<Contents>> pending = null;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+            boolean eof = false;
+
+            while (!eof) {
+                eof = fill(channel, buffer);
+
+                byte[] bytes = buffer.array();
+                int limit = buffer.position();
+                int start = 0;
+
+                List<byte[]> lines = new ArrayList<>();
+
+                for (int i = 0; i < limit; i++) {
+                    if (bytes[i] == '\n') {
+                        addLine(lines, bytes, start, i);
+                        start = i + 1;
+                    }
+                }
+
+                if (eof) {
+                    addLine(lines, bytes, start, limit);
+                } else if (start == 0) {
+                    // A single line, longer than the buffer
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+
+                    continue;
+                }
+
+                buffer.limit(limit).position(start);
+                buffer.compact();
+
+                if (pending != null) {
+                    results.addAll(join(pending));
+                }
+
+                pending = decodeAsync(lines, ContentsBatch::readDocument, executor, parallelism);
+            }
+        }
+
+        if (pending != null) {
+            results.addAll(join(pending));
+        }
+
+        return Collections.unmodifiableList(results);
+    }
+
+    private static boolean fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void addLine(List<byte[]> lines, byte[] bytes, int start, int end) {
+
+        for (int i = start; i < end; i++) {
+            if (bytes[i] > ' ') {
+                lines.add(Arrays.copyOfRange(bytes, start, end));
+
+                return;
+            }
+        }
+    }
+
+    private static Contents readDocument(byte[] line) throws IOException {
+
+        try (JsonParser parser = ContentsJson.MAPPER.createParser(line)) {
+            parser.nextToken();
+
+            return ContentsReader.readDocument(parser);
+        }
+    }
+
+    private static List<Contents> decodeAll(List<byte[]> payloads, Decoder decoder, Executor executor, int parallelism)
+            throws IOException {
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive, was " + parallelism);
+        }
+
+        return join(decodeAsync(payloads, decoder, executor, parallelism));
+    }
+
+    private static CompletableFuture<List<Contents>> decodeAsync(List<byte[]> payloads, Decoder decoder,
+            Executor executor, int parallelism) {
+
+        int size = payloads.size();
+        int tasks = Math.min(parallelism, size);
+        int claim = Math.max(1, size / (tasks * CLAIMS_PER_TASK + 1));
+
+        Contents[] results = new Contents[size];
+        AtomicInteger next = new AtomicInteger();
+
+        Runnable task = () -> {
+            for (int from = next.getAndAdd(claim); from < size; from = next.getAndAdd(claim)) {
+                for (int i = from; i < Math.min(from + claim, size); i++) {
+                    try {
+                        results[i] = decoder.decode(payloads.get(i));
+                    } catch (IOException e) {
+                        next.set(size);
+
+                        throw new UncheckedIOException("Could not decode contents document " + i, e);
+                    }
+                }
+            }
+        };
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+
+        for (int t = 0; t < tasks; t++) {
+            futures[t] = CompletableFuture.runAsync(task, executor);
+        }
+
+        return CompletableFuture.allOf(futures).thenApply(done -> Collections.unmodifiableList(Arrays.asList(results)));
+    }
+
+    private static List<Contents> join(CompletableFuture<List<Contents>> decoding) throws IOException {
+
+        try {
+            return decoding.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException failure) {
+                throw new IOException(failure.getMessage(), failure.getCause());
+            }
+
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Decoder {
+
+        Contents decode(byte[] payload) throws IOException;
+    }
+}
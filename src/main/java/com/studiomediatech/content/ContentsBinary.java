@@ -0,0 +1,325 @@
+package com.studiomediatech.content;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compact binary codec for content entries, intended for service-to-service traffic and caches.
+ *
+ * <p>
+ * The format starts with a magic byte and a version, followed by the number of entries. All numbers are unsigned
+ * varints. Each entry is written as:
+ * </p>
+ *
+ * <ul>
+ * <li>a mime type code, where {@code 0} is followed by a literal UTF-8 string, {@code 1-5} are the well-known
+ * {@link MimeType} constants and any higher code refers back to a previous literal in the same document,</li>
+ * <li>a locale code, where {@code 0} means no locale, {@code 1} is followed by a literal language tag and any higher
+ * code refers back to a previous literal in the same document,</li>
+ * <li>a value kind, {@code 0} for text and {@code 1} for binary, followed by the length and the raw UTF-8 or binary
+ * bytes.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+final class ContentsBinary {
+
+    private static final int MAGIC = 0xCC;
+    private static final int VERSION = 1;
+
+    private static final String[] WELL_KNOWN = { MimeType.TEXT_SUBJECT_VAL, MimeType.TEXT_DESCRIPTION_VAL,
+            MimeType.TEXT_BODY_VAL, MimeType.TEXT_APPICON_VAL, MimeType.IMAGE_APPICON_VAL };
+
+    private static final int MIME_TYPE_LITERAL = 0;
+    private static final int LOCALE_NONE = 0;
+    private static final int LOCALE_LITERAL = 1;
+
+    private static final int KIND_TEXT = 0;
+    private static final int KIND_BINARY = 1;
+
+    private ContentsBinary() {
+        // Hidden
+    }
+
+    /**
+     * Encodes the given entries.
+     *
+     * @param values
+     *            to encode
+     *
+     * @return the encoded bytes
+     */
+    static byte[] encode(List<Content> values) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * values.size() + 8);
+
+        try {
+            write(out, values);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode contents", e);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the given entries to an output stream.
+     *
+     * @param out
+     *            to write to, which is neither flushed nor closed
+     * @param values
+     *            to write
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    static void write(OutputStream out, List<Content> values) throws IOException {
+
+        Map<String, Integer> mimeTypes = new HashMap<>();
+        Map<Locale, Integer> locales = new HashMap<>();
+
+        out.write(MAGIC);
+        out.write(VERSION);
+        writeVarint(out, values.size());
+
+        for (Content content : values) {
+            writeMimeType(out, content.getMimeType(), mimeTypes);
+            writeLocale(out, content.getLocale(), locales);
+            writeValue(out, content.value());
+        }
+    }
+
+    private static void writeMimeType(OutputStream out, String mimeType, Map<String, Integer> literals)
+            throws IOException {
+
+        for (int i = 0; i < WELL_KNOWN.length; i++) {
+            if (WELL_KNOWN[i].equals(mimeType)) {
+                writeVarint(out, i + 1);
+
+                return;
+            }
+        }
+
+        Integer ref = literals.get(mimeType);
+
+        if (ref != null) {
+            writeVarint(out, WELL_KNOWN.length + 1 + ref);
+        } else {
+            literals.put(mimeType, literals.size());
+            writeVarint(out, MIME_TYPE_LITERAL);
+            writeBytes(out, mimeType.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeLocale(OutputStream out, Locale locale, Map<Locale, Integer> literals) throws IOException {
+
+        if (locale == null) {
+            writeVarint(out, LOCALE_NONE);
+
+            return;
+        }
+
+        Integer ref = literals.get(locale);
+
+        if (ref != null) {
+            writeVarint(out, LOCALE_LITERAL + 1 + ref);
+        } else {
+            literals.put(locale, literals.size());
+            writeVarint(out, LOCALE_LITERAL);
+            writeBytes(out, locale.toLanguageTag().getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static void writeValue(OutputStream out, Object value) throws IOException {
+
+        if (value instanceof String text) {
+            out.write(KIND_TEXT);
+            writeBytes(out, text.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof byte[] bytes) {
+            out.write(KIND_BINARY);
+            writeBytes(out, bytes);
+        } else if (value instanceof ByteBuffer buffer) {
+            ByteBuffer bytes = buffer.duplicate().clear();
+            out.write(KIND_BINARY);
+            writeVarint(out, bytes.remaining());
+            writeBuffer(out, bytes);
+        } else if (value instanceof ContentBuffer buffer) {
+            ByteBuffer bytes = buffer.acquire();
+
+            try {
+                out.write(KIND_BINARY);
+                writeVarint(out, bytes.remaining());
+                writeBuffer(out, bytes);
+            } finally {
+                buffer.release();
+            }
+        } else if (value instanceof Base64Content encoded) {
+            out.write(KIND_BINARY);
+            writeBytes(out, encoded.bytes());
+        } else {
+            throw new IllegalArgumentException("Unsupported content value type for binary encoding: "
+                    + (value == null ? null : value.getClass().getName()));
+        }
+    }
+
+    private static void writeBuffer(OutputStream out, ByteBuffer bytes) throws IOException {
+
+        if (bytes.hasArray()) {
+            out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            Channels.newChannel(out).write(bytes);
+        }
+    }
+
+    private static void writeBytes(OutputStream out, byte[] bytes) throws IOException {
+
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.write(value);
+    }
+
+    /**
+     * Decodes entries from the remaining bytes of the given buffer, advancing its position past the read entries.
+     *
+     * @param in
+     *            to read from
+     *
+     * @return a list of the decoded entries
+     *
+     * @throws IllegalArgumentException
+     *             if the bytes are not valid encoded contents
+     */
+    static List<Content> decode(ByteBuffer in) {
+
+        try {
+            if ((in.get() & 0xFF) != MAGIC || in.get() != VERSION) {
+                throw new IllegalArgumentException("Not binary encoded contents, or unsupported version");
+            }
+
+            int size = readLength(in);
+            List<Content> values = new ArrayList<>(Math.min(size, 1024));
+            List<String> mimeTypes = new ArrayList<>();
+            List<Locale> locales = new ArrayList<>();
+
+            for (int i = 0; i < size; i++) {
+                String mimeType = readMimeType(in, mimeTypes);
+                Locale locale = readLocale(in, locales);
+                Object value = readValue(in);
+
+                values.add(locale == null ? new Content(mimeType, value) : new Content(mimeType, value, locale));
+            }
+
+            return values;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated or invalid binary encoded contents", e);
+        }
+    }
+
+    private static String readMimeType(ByteBuffer in, List<String> literals) {
+
+        int code = readVarint(in);
+
+        if (code == MIME_TYPE_LITERAL) {
+            String mimeType = ContentSymbols.mimeType(new String(readBytes(in), StandardCharsets.UTF_8));
+            literals.add(mimeType);
+
+            return mimeType;
+        }
+
+        return code <= WELL_KNOWN.length ? WELL_KNOWN[code - 1] : literals.get(code - WELL_KNOWN.length - 1);
+    }
+
+    private static Locale readLocale(ByteBuffer in, List<Locale> literals) {
+
+        int code = readVarint(in);
+
+        if (code == LOCALE_NONE) {
+            return null;
+        }
+
+        if (code == LOCALE_LITERAL) {
+            Locale locale = ContentSymbols
+                    .locale(Locale.forLanguageTag(new String(readBytes(in), StandardCharsets.US_ASCII)));
+            literals.add(locale);
+
+            return locale;
+        }
+
+        return literals.get(code - LOCALE_LITERAL - 1);
+    }
+
+    private static Object readValue(ByteBuffer in) {
+
+        int kind = in.get();
+
+        if (kind == KIND_TEXT) {
+            return new String(readBytes(in), StandardCharsets.UTF_8);
+        }
+
+        if (kind == KIND_BINARY) {
+            return readBytes(in);
+        }
+
+        throw new IllegalArgumentException("Unknown value kind " + kind + " in binary encoded contents");
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+
+        byte[] bytes = new byte[readLength(in)];
+        in.get(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * Reads a length or count, which is never more than the remaining bytes, as each counted entry takes at least one.
+     */
+    private static int readLength(ByteBuffer in) {
+
+        int length = readVarint(in);
+
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException(
+                    "Truncated or invalid length " + Integer.toUnsignedString(length) + " in binary encoded contents");
+        }
+
+        return length;
+    }
+
+    private static int readVarint(ByteBuffer in) {
+
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed varint in binary encoded contents");
+    }
+}
@@ -0,0 +1,58 @@
+package com.studiomediatech.content;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Custom de-serializer for contents, reading a JSON array of content entries.
+ *
+ * <p>
+ * Each entry is read by the {@link ContentDeserializer}, called directly for each element of the array. One flight
+ * recorder event is committed for all the entries.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentsDeserializer extends StdDeserializer<Contents> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ContentDeserializer CONTENT_DESERIALIZER = new ContentDeserializer();
+
+    /**
+     * Creates a new contents de-serializer instance, for reading JSON into {@link Contents}.
+     */
+    public ContentsDeserializer() {
+
+        super(Contents.class);
+    }
+
+    @Override
+    public Contents deserialize(JsonParser p, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+
+        if (!p.isExpectedStartArrayToken()) {
+            return (Contents) ctxt.handleUnexpectedToken(Contents.class, p);
+        }
+
+        Object event = Instrumentation.decoding();
+
+        long from = event != null ? p.currentTokenLocation().getByteOffset() : -1;
+        List<Content> values = new ArrayList<>();
+
+        for (JsonToken t = p.nextToken(); t != JsonToken.END_ARRAY; t = p.nextToken()) {
+            values.add(CONTENT_DESERIALIZER.deserializeEntry(p, ctxt));
+        }
+
+        Instrumentation.commit(event, "deserializeContents", values, ContentDeserializer.encodedSize(p, from));
+
+        return Contents.of(values);
+    }
+}
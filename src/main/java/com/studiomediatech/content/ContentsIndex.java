@@ -0,0 +1,113 @@
+package com.studiomediatech.content;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable lookup index of content entries, keyed by mime type and language.
+ *
+ * <p>
+ * Built once, from a list of entries, it keeps the first entry for each key. This is the same entry that a linear scan
+ * finds, so lookups return the same values as the non-indexed {@link Contents}.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ContentsIndex {
+
+    private final Map<String, Content> byMimeType;
+    private final Map<String, Map<String, Content>> byMimeTypeAndLanguage;
+    private final Map<MimeType, List<Content>> byBaseType;
+
+    private ContentsIndex(Map<String, Content> byMimeType, Map<String, Map<String, Content>> byMimeTypeAndLanguage,
+            Map<MimeType, List<Content>> byBaseType) {
+
+        this.byMimeType = byMimeType;
+        this.byMimeTypeAndLanguage = byMimeTypeAndLanguage;
+        this.byBaseType = byBaseType;
+    }
+
+    /**
+     * Builds the index for the given entries.
+     *
+     * @param values
+     *            to index
+     *
+     * @return a new index
+     */
+    static ContentsIndex of(List<Content> values) {
+
+        Map<String, Content> byMimeType = new HashMap<>();
+        Map<String, Map<String, Content>> byMimeTypeAndLanguage = new HashMap<>();
+        Map<MimeType, List<Content>> byBaseType = new HashMap<>();
+
+        for (Content content : values) {
+            byMimeType.putIfAbsent(content.getMimeType(), content);
+
+            if (content.getMimeType() != null) {
+                byBaseType
+                        .computeIfAbsent(MimeType.valueOf(content.getMimeType()).getBaseType(), k -> new ArrayList<>())
+                        .add(content);
+            }
+
+            Locale locale = content.getLocale();
+
+            if (locale != null) {
+                byMimeTypeAndLanguage.computeIfAbsent(content.getMimeType(), k -> new HashMap<>())
+                        .putIfAbsent(locale.getLanguage(), content);
+            }
+        }
+
+        byBaseType.replaceAll((k, v) -> Collections.unmodifiableList(v));
+
+        return new ContentsIndex(byMimeType, byMimeTypeAndLanguage, byBaseType);
+    }
+
+    /**
+     * Returns the first entry with the given mime type.
+     *
+     * @param mimeType
+     *            to look up
+     *
+     * @return the entry, or {@code null} if there is none
+     */
+    Content forMimeType(MimeType mimeType) {
+
+        return byMimeType.get(mimeType.getMimeType());
+    }
+
+    /**
+     * Returns the first entry with the given mime type and locale language.
+     *
+     * @param mimeType
+     *            to look up
+     * @param locale
+     *            to look up the language for
+     *
+     * @return the entry, or {@code null} if there is none
+     */
+    Content forMimeTypeAndLocale(MimeType mimeType, Locale locale) {
+
+        String language = locale.getLanguage();
+        Map<String, Content> byLanguage = byMimeTypeAndLanguage.get(mimeType.getMimeType());
+
+        return byLanguage == null ? null : byLanguage.get(language);
+    }
+
+    /**
+     * Returns all entries, in order, that are variants of the given mime type.
+     *
+     * @param mimeType
+     *            to look up the variants for
+     *
+     * @return an unmodifiable list of entries, empty if there are none
+     */
+    List<Content> forMimeTypeVariants(MimeType mimeType) {
+
+        return byBaseType.getOrDefault(mimeType.getBaseType(), Collections.emptyList());
+    }
+}
@@ -0,0 +1,218 @@
+package com.studiomediatech.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming JSON support for content entries, writing tokens directly from the entries.
+ *
+ * <p>
+ * Uses a single, shared and pre-configured mapper, which is thread-safe once created. Generators created from it never
+ * close the target they write to, that is left to the caller.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ContentsJson {
+
+    /**
+     * The shared mapper, only ever used to create parsers, generators and readers, with the {@link ContentsModule}
+     * registered.
+     */
+    static final ObjectMapper MAPPER = JsonMapper.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .addModule(new ContentsModule()).build();
+
+    /**
+     * The shared reader, for reading a JSON array of content entries, from the current parser token.
+     */
+    static final ObjectReader READER = MAPPER.readerFor(Contents.class);
+
+    private static final SerializableString MIME_TYPE = new SerializedString("mimeType");
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString LOCALE = new SerializedString("locale");
+    private static final SerializableString CONTENTS = new SerializedString("contents");
+
+    private ContentsJson() {
+        // Hidden
+    }
+
+    /**
+     * Encodes the given entries as a JSON array.
+     *
+     * @param values
+     *            to encode
+     *
+     * @return the UTF-8 encoded JSON bytes
+     */
+    static byte[] encode(List<Content> values) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * values.size() + 2);
+
+        try (JsonGenerator gen = MAPPER.createGenerator(out)) {
+            writeArray(gen, values);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write contents as JSON", e);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the given entries as a JSON array.
+     *
+     * @param gen
+     *            to write to
+     * @param values
+     *            to write
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    static void writeArray(JsonGenerator gen, List<Content> values) throws IOException {
+
+        int size = values.size();
+
+        gen.writeStartArray(values, size);
+
+        for (int i = 0; i < size; i++) {
+            writeContent(gen, values.get(i));
+        }
+
+        gen.writeEndArray();
+    }
+
+    /**
+     * Writes the given entries as a contents document, a JSON object with the entries in a {@code contents} array.
+     *
+     * @param gen
+     *            to write to
+     * @param values
+     *            to write
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    static void writeDocument(JsonGenerator gen, List<Content> values) throws IOException {
+
+        gen.writeStartObject();
+        gen.writeFieldName(CONTENTS);
+        writeArray(gen, values);
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes a single content entry as a JSON object.
+     *
+     * <p>
+     * Fields are written in the same order as the map, built by {@link Content#asMap(Content)}, has always been
+     * serialized. This keeps the output of {@link Contents.Buildable#asJSON()} unchanged.
+     * </p>
+     *
+     * @param gen
+     *            to write to
+     * @param content
+     *            entry to write
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    static void writeContent(JsonGenerator gen, Content content) throws IOException {
+
+        gen.writeStartObject(content);
+        writeFields(gen, content);
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes the fields of a single content entry, into the current JSON object.
+     *
+     * @param gen
+     *            to write to
+     * @param content
+     *            entry to write
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    static void writeFields(JsonGenerator gen, Content content) throws IOException {
+
+        Locale locale = content.getLocale();
+
+        if (locale != null) {
+            gen.writeFieldName(LOCALE);
+            gen.writeString(locale.toString());
+        }
+
+        gen.writeFieldName(CONTENT);
+        writeValue(gen, content.value());
+
+        gen.writeFieldName(MIME_TYPE);
+        gen.writeString(content.getMimeType());
+    }
+
+    private static void writeValue(JsonGenerator gen, Object value) throws IOException {
+
+        if (value instanceof String text) {
+            gen.writeString(text);
+        } else if (value instanceof byte[] bytes) {
+            gen.writeBinary(bytes);
+        } else if (value instanceof ByteBuffer buffer) {
+            writeBinary(gen, buffer);
+        } else if (value instanceof ContentBuffer buffer) {
+            ByteBuffer bytes = buffer.acquire();
+
+            try {
+                writeBinary(gen, bytes);
+            } finally {
+                buffer.release();
+            }
+        } else if (value instanceof Base64Content encoded) {
+            writeBinary(gen, encoded);
+        } else if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeObject(value);
+        }
+    }
+
+    /**
+     * Writes lazily read binary content, passing the original encoded form through, unless it has been decoded.
+     */
+    private static void writeBinary(JsonGenerator gen, Base64Content encoded) throws IOException {
+
+        if (encoded.isDecoded()) {
+            gen.writeBinary(encoded.bytes());
+        } else {
+            gen.writeString(encoded.encoded());
+        }
+    }
+
+    /**
+     * Writes the full buffer contents, from position zero up to its capacity, as a base64 encoded string. The given
+     * buffer is expected to be a slice of the value bytes, which is never modified.
+     */
+    private static void writeBinary(JsonGenerator gen, ByteBuffer buffer) throws IOException {
+
+        ByteBuffer bytes = buffer.duplicate().clear();
+
+        if (bytes.hasArray()) {
+            gen.writeBinary(bytes.array(), bytes.arrayOffset(), bytes.remaining());
+        } else {
+            gen.writeBinary(new ByteBufferBackedInputStream(bytes), bytes.remaining());
+        }
+    }
+}
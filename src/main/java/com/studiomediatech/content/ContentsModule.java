@@ -0,0 +1,41 @@
+package com.studiomediatech.content;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Jackson module, for reading and writing {@link Content} and {@link Contents} with their custom serializers.
+ *
+ * <p>
+ * Register the module once, on the application object mapper:
+ * </p>
+ *
+ * <pre>
+ * <code>
+ObjectMapper mapper = new ObjectMapper().registerModule(new ContentsModule());
+   </code>
+ * </pre>
+ *
+ * <p>
+ * Contents, embedded in any value written by the mapper, is then written as a JSON array of content entries, directly
+ * from the entries, and read back in a single pass.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentsModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new contents module.
+     */
+    public ContentsModule() {
+
+        super(ContentsModule.class.getSimpleName());
+
+        addSerializer(Content.class, new ContentSerializer());
+        addSerializer(Contents.class, new ContentsSerializer());
+        addDeserializer(Content.class, new ContentDeserializer());
+        addDeserializer(Contents.class, new ContentsDeserializer());
+    }
+}
@@ -0,0 +1,484 @@
+package com.studiomediatech.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Delta between two versions of contents, for sending only the changed entries to clients that have the previous
+ * version.
+ *
+ * <p>
+ * Entries are keyed by their mime type and locale, and if the same key occurs more than once, by its occurrence. A
+ * patch has the removed keys, the changed entries, with new values for kept keys, and the added entries, each placed
+ * after the entry preceding it in the new version. Entries of the new version that are not in the same relative order
+ * as in the previous version are removed and added again, so that applying the patch results in exactly the new
+ * version, with all entries in the same order.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ContentsPatch patch = previous.diff(current);
+String json = patch.asJSON();
+
+// On the client
+Contents updated = ContentsPatch.fromJSON(json).apply(previous);
+   </code>
+ * </pre>
+ *
+ * <p>
+ * A patch also holds the {@link Contents#digest() digests} of both versions. Applying it checks that it is applied to
+ * the previous version, and that the result is the new version. The JSON form of a patch is an object, with the
+ * {@code from} and {@code to} digests, as URL-safe base64, and {@code removed}, {@code changed} and {@code added}
+ * arrays. Entries are written as by {@link Contents.Buildable#asJSON()}, where keys have an {@code n} for any repeated
+ * occurrence, and added entries have the key of the entry they follow {@code after}, unless first.
+ * </p>
+ *
+ * <p>
+ * A patch is immutable and thread-safe.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentsPatch {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final byte[] from;
+    private final byte[] to;
+    private final List<Key> removed;
+    private final List<Change> changed;
+    private final List<Addition> added;
+
+    private ContentsPatch(byte[] from, byte[] to, List<Key> removed, List<Change> changed, List<Addition> added) {
+
+        this.from = from;
+        this.to = to;
+        this.removed = removed;
+        this.changed = changed;
+        this.added = added;
+    }
+
+    /**
+     * Computes the patch from one version of contents to another.
+     *
+     * @param from
+     *            the previous version
+     * @param to
+     *            the new version
+     *
+     * @return the patch, which is {@link #isEmpty() empty} if the versions are equal
+     */
+    public static ContentsPatch diff(Contents from, Contents to) {
+
+        List<Content> base = from.values();
+        List<Content> target = to.values();
+
+        List<Key> baseKeys = keysOf(base);
+        List<Key> targetKeys = keysOf(target);
+
+        Map<Key, Integer> positions = new HashMap<>();
+
+        for (int i = 0; i < baseKeys.size(); i++) {
+            positions.put(baseKeys.get(i), i);
+        }
+
+        int[] basePositions = new int[target.size()];
+
+        for (int i = 0; i < target.size(); i++) {
+            basePositions[i] = positions.getOrDefault(targetKeys.get(i), -1);
+        }
+
+        boolean[] kept = keptInOrder(basePositions);
+        Set<Key> keptKeys = new HashSet<>();
+
+        List<Change> changed = new ArrayList<>();
+        List<Addition> added = new ArrayList<>();
+
+        for (int i = 0; i < target.size(); i++) {
+            Key key = targetKeys.get(i);
+            Content content = target.get(i);
+
+            if (kept[i]) {
+                keptKeys.add(key);
+
+                if (!ContentDigest.valueEquals(base.get(basePositions[i]).value(), content.value())) {
+                    changed.add(new Change(key, content));
+                }
+            } else {
+                added.add(new Addition(key, content, i == 0 ? null : targetKeys.get(i - 1)));
+            }
+        }
+
+        List<Key> removed = new ArrayList<>();
+
+        for (Key key : baseKeys) {
+            if (!keptKeys.contains(key)) {
+                removed.add(key);
+            }
+        }
+
+        return new ContentsPatch(from.digestBytes(), to.digestBytes(), List.copyOf(removed), List.copyOf(changed),
+                List.copyOf(added));
+    }
+
+    /**
+     * Returns the keys of the given entries, numbering repeated occurrences of the same mime type and locale.
+     */
+    private static List<Key> keysOf(List<Content> values) {
+
+        List<Key> keys = new ArrayList<>(values.size());
+        Map<Key, Integer> occurrences = new HashMap<>();
+
+        for (Content content : values) {
+            Key first = new Key(content.getMimeType(), content.getLocale(), 0);
+            int n = occurrences.merge(first, 1, Integer::sum) - 1;
+
+            keys.add(n == 0 ? first : new Key(content.getMimeType(), content.getLocale(), n));
+        }
+
+        return keys;
+    }
+
+    /**
+     * Marks the longest sequence of entries, that are kept in the same relative order, by the longest increasing
+     * subsequence of their positions in the previous version, where {@code -1} is an entry not in it.
+     */
+    private static boolean[] keptInOrder(int[] positions) {
+
+        int[] tails = new int[positions.length];
+        int[] previous = new int[positions.length];
+        int length = 0;
+
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] < 0) {
+                continue;
+            }
+
+            int lo = 0;
+            int hi = length;
+
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+
+                if (positions[tails[mid]] < positions[i]) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+
+            previous[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+
+            if (lo == length) {
+                length++;
+            }
+        }
+
+        boolean[] kept = new boolean[positions.length];
+
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            kept[i] = true;
+        }
+
+        return kept;
+    }
+
+    /**
+     * Applies this patch to the given contents.
+     *
+     * @param contents
+     *            the previous version, that this patch was computed from
+     *
+     * @return new contents, equal to the new version
+     *
+     * @throws IllegalArgumentException
+     *             if the contents are not the previous version, or the patch is not valid
+     */
+    public Contents apply(Contents contents) {
+
+        if (!Arrays.equals(contents.digestBytes(), from)) {
+            throw new IllegalArgumentException(
+                    "The patch from " + ContentDigest.etag(from) + " does not apply to contents " + contents.etag());
+        }
+
+        List<Content> base = contents.values();
+        List<Key> baseKeys = keysOf(base);
+
+        Set<Key> removedKeys = new HashSet<>(removed);
+        Map<Key, Content> changes = new HashMap<>();
+        Map<Key, Addition> following = new HashMap<>();
+
+        for (Change change : changed) {
+            changes.put(change.key(), change.content());
+        }
+
+        for (Addition addition : added) {
+            following.put(addition.after(), addition);
+        }
+
+        List<Content> result = new ArrayList<>(base.size() + added.size());
+        appendFollowing(result, following, null);
+
+        for (int i = 0; i < base.size(); i++) {
+            Key key = baseKeys.get(i);
+
+            if (!removedKeys.contains(key)) {
+                result.add(changes.getOrDefault(key, base.get(i)));
+                appendFollowing(result, following, key);
+            }
+        }
+
+        Contents patched = new Contents(result);
+
+        if (!Arrays.equals(patched.digestBytes(), to)) {
+            throw new IllegalArgumentException(
+                    "The patch to " + ContentDigest.etag(to) + " is not valid, it resulted in " + patched.etag());
+        }
+
+        return patched;
+    }
+
+    private static void appendFollowing(List<Content> result, Map<Key, Addition> following, Key key) {
+
+        for (Addition a = following.get(key); a != null; a = following.get(a.key())) {
+            result.add(a.content());
+        }
+    }
+
+    /**
+     * Returns whether this patch has no changes.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    public boolean isEmpty() {
+
+        return removed.isEmpty() && changed.isEmpty() && added.isEmpty();
+    }
+
+    /**
+     * Returns the entity tag of the version this patch applies to, as for {@link Contents#etag()}.
+     *
+     * @return the quoted entity tag
+     */
+    public String fromETag() {
+
+        return ContentDigest.etag(from);
+    }
+
+    /**
+     * Returns the entity tag of the version this patch results in, as for {@link Contents#etag()}.
+     *
+     * @return the quoted entity tag
+     */
+    public String toETag() {
+
+        return ContentDigest.etag(to);
+    }
+
+    /**
+     * Returns this patch as JSON.
+     *
+     * @return the JSON string
+     */
+    public String asJSON() {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            writeJSON(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write the patch as JSON", e);
+        }
+
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes this patch as JSON, to the given output stream, which is flushed but not closed.
+     *
+     * @param out
+     *            to write to
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeJSON(OutputStream out) throws IOException {
+
+        try (JsonGenerator gen = ContentsJson.MAPPER.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeStringField("from", ENCODER.encodeToString(from));
+            gen.writeStringField("to", ENCODER.encodeToString(to));
+
+            gen.writeArrayFieldStart("removed");
+
+            for (Key key : removed) {
+                writeKey(gen, key);
+            }
+
+            gen.writeEndArray();
+            gen.writeArrayFieldStart("changed");
+
+            for (Change change : changed) {
+                gen.writeStartObject();
+                ContentsJson.writeFields(gen, change.content());
+                writeOccurrence(gen, change.key());
+                gen.writeEndObject();
+            }
+
+            gen.writeEndArray();
+            gen.writeArrayFieldStart("added");
+
+            for (Addition addition : added) {
+                gen.writeStartObject();
+                ContentsJson.writeFields(gen, addition.content());
+                writeOccurrence(gen, addition.key());
+
+                if (addition.after() != null) {
+                    gen.writeFieldName("after");
+                    writeKey(gen, addition.after());
+                }
+
+                gen.writeEndObject();
+            }
+
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeKey(JsonGenerator gen, Key key) throws IOException {
+
+        gen.writeStartObject();
+
+        if (key.locale() != null) {
+            gen.writeStringField("locale", key.locale().toString());
+        }
+
+        gen.writeStringField("mimeType", key.mimeType());
+        writeOccurrence(gen, key);
+        gen.writeEndObject();
+    }
+
+    private static void writeOccurrence(JsonGenerator gen, Key key) throws IOException {
+
+        if (key.n() > 0) {
+            gen.writeNumberField("n", key.n());
+        }
+    }
+
+    /**
+     * Reads a patch from its JSON form, as written by {@link #asJSON()}.
+     *
+     * @param json
+     *            to read
+     *
+     * @return the patch
+     *
+     * @throws IOException
+     *             if the JSON is not a valid patch
+     */
+    public static ContentsPatch fromJSON(String json) throws IOException {
+
+        return fromJSON(ContentsJson.MAPPER.readTree(json));
+    }
+
+    /**
+     * Reads a patch from its UTF-8 encoded JSON form, as written by {@link #writeJSON(OutputStream)}.
+     *
+     * @param json
+     *            to read
+     *
+     * @return the patch
+     *
+     * @throws IOException
+     *             if the JSON is not a valid patch
+     */
+    public static ContentsPatch fromJSON(byte[] json) throws IOException {
+
+        return fromJSON(ContentsJson.MAPPER.readTree(json));
+    }
+
+    private static ContentsPatch fromJSON(JsonNode node) throws IOException {
+
+        if (node == null || !node.path("from").isTextual() || !node.path("to").isTextual()) {
+            throw new IOException("Not a contents patch, missing the `from` or `to` digest");
+        }
+
+        List<Key> removed = new ArrayList<>();
+        List<Change> changed = new ArrayList<>();
+        List<Addition> added = new ArrayList<>();
+
+        for (JsonNode key : node.path("removed")) {
+            removed.add(readKey(key));
+        }
+
+        for (JsonNode entry : node.path("changed")) {
+            changed.add(new Change(readKey(entry), readContent(entry)));
+        }
+
+        for (JsonNode entry : node.path("added")) {
+            JsonNode after = entry.get("after");
+            added.add(new Addition(readKey(entry), readContent(entry), after == null ? null : readKey(after)));
+        }
+
+        try {
+            return new ContentsPatch(DECODER.decode(node.get("from").asText()), DECODER.decode(node.get("to").asText()),
+                    List.copyOf(removed), List.copyOf(changed), List.copyOf(added));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Not a contents patch, invalid digest", e);
+        }
+    }
+
+    private static Key readKey(JsonNode node) throws IOException {
+
+        JsonNode mimeType = node.get("mimeType");
+        JsonNode locale = node.get("locale");
+
+        if (mimeType == null || !mimeType.isTextual()) {
+            throw new IOException("Missing `mimeType` for a patch entry");
+        }
+
+        return new Key(mimeType.asText(),
+                locale == null || locale.isNull() ? null : ContentsJson.MAPPER.treeToValue(locale, Locale.class),
+                node.path("n").asInt(0));
+    }
+
+    private static Content readContent(JsonNode node) throws IOException {
+
+        return ContentsJson.MAPPER.treeToValue(node, Content.class);
+    }
+
+    @Override
+    public String toString() {
+
+        return "ContentsPatch [from=" + fromETag() + ", to=" + toETag() + ", removed=" + removed.size() + ", changed="
+                + changed.size() + ", added=" + added.size() + "]";
+    }
+
+    private record Key(String mimeType, Locale locale, int n) {
+    }
+
+    private record Change(Key key, Content content) {
+    }
+
+    private record Addition(Key key, Content content, Key after) {
+    }
+}
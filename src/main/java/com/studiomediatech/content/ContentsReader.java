@@ -0,0 +1,169 @@
+package com.studiomediatech.content;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy reader of contents documents, from a JSON array or newline-delimited JSON.
+ *
+ * <p>
+ * Each document is a JSON object, with the content entries in a {@code contents} array, any other fields are skipped. A
+ * document without a {@code contents} field is read as empty contents. The documents are either the elements of one
+ * top-level JSON array, or a sequence of top-level objects, for example one per line:
+ * </p>
+ *
+ * <pre>
+ * <code>
+{"id":"n1","contents":[{"content":"Hello","mimeType":"text/vnd.content.subject"}]}
+{"id":"n2","contents":[{"content":"Goodbye","mimeType":"text/vnd.content.subject"}]}
+   </code>
+ * </pre>
+ *
+ * <p>
+ * Documents are read one at a time, as they are iterated, by the {@link ContentsDeserializer}. Only one document is
+ * held in memory by the reader. A reader is not thread-safe, and closing it also closes the input stream. Any failure
+ * to read is thrown as an {@link UncheckedIOException}.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentsReader implements Iterator<Contents>, Closeable {
+
+    private static final String CONTENTS = "contents";
+
+    private final JsonParser parser;
+
+    private boolean started;
+    private boolean inArray;
+    private boolean done;
+    private Contents next;
+
+    ContentsReader(InputStream in) throws IOException {
+
+        this.parser = ContentsJson.MAPPER.createParser(in);
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        if (next == null && !done) {
+            try {
+                next = read();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read contents document", e);
+            }
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public Contents next() {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Contents contents = next;
+        next = null;
+
+        return contents;
+    }
+
+    /**
+     * Returns a sequential stream of the remaining documents, which closes this reader when closed.
+     *
+     * @return a new stream of contents
+     */
+    public Stream<Contents> stream() {
+
+        Spliterator<Contents> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        done = true;
+        next = null;
+        parser.close();
+    }
+
+    private Contents read() throws IOException {
+
+        JsonToken t = parser.nextToken();
+
+        if (!started) {
+            started = true;
+
+            if (t == JsonToken.START_ARRAY) {
+                inArray = true;
+                t = parser.nextToken();
+            }
+        }
+
+        if (t == null || (inArray && t == JsonToken.END_ARRAY)) {
+            done = true;
+
+            return null;
+        }
+
+        return readDocument(parser);
+    }
+
+    /**
+     * Reads one contents document, starting at the current token of the given parser, and ending at its last token.
+     *
+     * @param parser
+     *            to read from
+     *
+     * @return the contents of the document, empty if it has no {@code contents} field
+     *
+     * @throws IOException
+     *             if reading fails, or the current token does not start a document
+     */
+    static Contents readDocument(JsonParser parser) throws IOException {
+
+        JsonToken t = parser.currentToken();
+
+        if (t != JsonToken.START_OBJECT) {
+            throw new IOException(
+                    "Expected a contents document object, was " + t + " at " + parser.currentTokenLocation());
+        }
+
+        Contents contents = null;
+
+        for (t = parser.nextToken(); t == JsonToken.FIELD_NAME; t = parser.nextToken()) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            if (CONTENTS.equals(field)) {
+                contents = ContentsJson.READER.readValue(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return contents == null ? new Contents(null) : contents;
+    }
+}
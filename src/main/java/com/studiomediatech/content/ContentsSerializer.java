@@ -0,0 +1,36 @@
+package com.studiomediatech.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Custom serializer for contents, writing it as a JSON array of content entries.
+ *
+ * <p>
+ * Writes the tokens directly from the entries, without any reflection or intermediate maps, in the same form as
+ * {@link Contents.Buildable#asJSON()}.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentsSerializer extends StdSerializer<Contents> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new contents serializer instance, for writing {@link Contents} as JSON.
+     */
+    public ContentsSerializer() {
+
+        super(Contents.class);
+    }
+
+    @Override
+    public void serialize(Contents value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        ContentsJson.writeArray(gen, value.values());
+    }
+}
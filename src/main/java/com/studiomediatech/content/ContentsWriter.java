@@ -0,0 +1,165 @@
+package com.studiomediatech.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import java.util.stream.Stream;
+
+/**
+ * Bulk writer of contents documents, as a JSON array or newline-delimited JSON.
+ *
+ * <p>
+ * Each document is written as a JSON object, with the content entries in a {@code contents} array, in the form read by
+ * {@link ContentsReader}. All documents are written by one generator, reusing its encoding buffers, through an output
+ * buffer of the given flush size. The target only receives writes of about the flush size, or when the writer is
+ * flushed or closed.
+ * </p>
+ *
+ * <pre>
+ * <code>
+try (ContentsWriter writer = Contents.writer(out, ContentsWriter.Format.NDJSON)) {
+    writer.writeAll(documents);
+}
+   </code>
+ * </pre>
+ *
+ * <p>
+ * A writer is not thread-safe. Closing it completes the output, and flushes but does not close the target.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ContentsWriter implements Closeable, Flushable {
+
+    /**
+     * The default flush size, in bytes.
+     */
+    public static final int DEFAULT_FLUSH_SIZE = 64 * 1024;
+
+    private final JsonGenerator gen;
+    private final Format format;
+
+    private boolean closed;
+
+    ContentsWriter(OutputStream out, Format format, int flushSize) throws IOException {
+
+        if (flushSize <= 0) {
+            throw new IllegalArgumentException("Flush size must be positive, was " + flushSize);
+        }
+
+        this.format = format;
+        this.gen = ContentsJson.MAPPER.createGenerator(new BufferedOutputStream(out, flushSize));
+        this.gen.setRootValueSeparator(null);
+
+        if (format == Format.ARRAY) {
+            this.gen.writeStartArray();
+        }
+    }
+
+    /**
+     * Writes one contents document.
+     *
+     * @param contents
+     *            to write
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public void write(Contents contents) throws IOException {
+
+        ContentsJson.writeDocument(gen, contents.values());
+
+        if (format == Format.NDJSON) {
+            gen.writeRaw('\n');
+        }
+    }
+
+    /**
+     * Writes all the given contents documents, in order.
+     *
+     * @param documents
+     *            to write
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeAll(Iterable<Contents> documents) throws IOException {
+
+        for (Contents contents : documents) {
+            write(contents);
+        }
+    }
+
+    /**
+     * Writes all the given contents documents, in encounter order.
+     *
+     * @param documents
+     *            to write
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeAll(Stream<Contents> documents) throws IOException {
+
+        try {
+            documents.forEachOrdered(contents -> {
+                try {
+                    write(contents);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Flushes all written documents to the target.
+     */
+    @Override
+    public void flush() throws IOException {
+
+        gen.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        if (format == Format.ARRAY) {
+            gen.writeEndArray();
+        }
+
+        gen.close();
+    }
+
+    /**
+     * Output formats of the writer.
+     *
+     * @since 1.0
+     */
+    public enum Format {
+
+        /**
+         * Newline-delimited JSON, one document per line.
+         */
+        NDJSON,
+
+        /**
+         * One JSON array of documents.
+         */
+        ARRAY
+    }
+}
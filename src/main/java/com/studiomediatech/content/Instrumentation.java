@@ -0,0 +1,154 @@
+package com.studiomediatech.content;
+
+import com.studiomediatech.content.ContentMetrics.Operation;
+
+import java.nio.ByteBuffer;
+
+import java.util.List;
+
+/**
+ * Holder of the installed {@link ContentMetrics}, and helpers for recording to it, and to the JDK Flight Recorder.
+ *
+ * <p>
+ * Instrumented paths read the metrics once, and only read the clock and record if any is installed. Flight recorder
+ * events are only begun if the {@code jdk.jfr} module is present, through {@link ContentEvents}, and enabled.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class Instrumentation {
+
+    static volatile ContentMetrics metrics;
+
+    private static final boolean FLIGHT_RECORDER = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private Instrumentation() {
+        // Hidden
+    }
+
+    /**
+     * Begins timing an encoding of contents, to the installed metrics, and as a flight recorder encode event.
+     */
+    static Timing encoding() {
+
+        ContentMetrics m = metrics;
+        Object event = FLIGHT_RECORDER ? ContentEvents.beginEncode() : null;
+
+        if (m == null && event == null) {
+            return Timing.NONE;
+        }
+
+        return new Timing(m, m == null ? 0 : System.nanoTime(), event);
+    }
+
+    /**
+     * Begins a flight recorder decode event.
+     *
+     * @return the event, to commit, or {@code null} if not recorded
+     */
+    static Object decoding() {
+
+        return FLIGHT_RECORDER ? ContentEvents.beginDecode() : null;
+    }
+
+    static void commit(Object event, String operation, List<Content> values, long encoded) {
+
+        if (event != null) {
+            ContentEvents.commit(event, operation, values, encoded);
+        }
+    }
+
+    static void commit(Object event, String operation, Content content, long encoded) {
+
+        if (event != null) {
+            ContentEvents.commit(event, operation, content, encoded);
+        }
+    }
+
+    static void record(ContentMetrics m, Operation operation, long start, List<Content> values) {
+
+        m.timed(operation, System.nanoTime() - start);
+
+        for (Content content : values) {
+            m.contentSize(operation, content.getMimeType(), sizeOf(content.value()));
+        }
+    }
+
+    static void record(ContentMetrics m, Operation operation, long start, Content content) {
+
+        m.timed(operation, System.nanoTime() - start);
+        m.contentSize(operation, content.getMimeType(), sizeOf(content.value()));
+    }
+
+    static void lookup(ContentMetrics m, MimeType mimeType, long start, boolean found) {
+
+        m.timed(Operation.LOOKUP, System.nanoTime() - start);
+        m.lookup(mimeType, found);
+    }
+
+    /**
+     * Returns the size of the given content value in bytes, where lazily read binary content is estimated from its
+     * base64 encoded length.
+     */
+    static long sizeOf(Object value) {
+
+        if (value instanceof String text) {
+            return utf8Length(text);
+        } else if (value instanceof byte[] bytes) {
+            return bytes.length;
+        } else if (value instanceof ByteBuffer buffer) {
+            return buffer.capacity();
+        } else if (value instanceof ContentBuffer buffer) {
+            return buffer.size();
+        } else if (value instanceof Base64Content encoded) {
+            return encoded.encoded().length() / 4L * 3;
+        }
+
+        return 0;
+    }
+
+    /**
+     * A begun encoding, recorded when ended.
+     */
+    static final class Timing {
+
+        static final Timing NONE = new Timing(null, 0, null);
+
+        private final ContentMetrics metrics;
+        private final long start;
+        private final Object event;
+
+        private Timing(ContentMetrics metrics, long start, Object event) {
+
+            this.metrics = metrics;
+            this.start = start;
+            this.event = event;
+        }
+
+        void end(Operation operation, String name, List<Content> values, long encoded) {
+
+            if (metrics != null) {
+                record(metrics, operation, start, values);
+            }
+
+            commit(event, name, values, encoded);
+        }
+    }
+
+    private static long utf8Length(String text) {
+
+        long length = text.length();
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (c >= 0x800) {
+                length += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+
+        return length;
+    }
+}
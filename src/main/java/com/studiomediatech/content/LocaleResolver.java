@@ -0,0 +1,182 @@
+package com.studiomediatech.content;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Locale.LanguageRange;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the best matching content entry, for a language priority list.
+ *
+ * <p>
+ * Matching follows the <i>lookup</i> scheme of RFC 4647, as implemented by
+ * {@link Locale#lookupTag(List, java.util.Collection)}. Each range is tried in priority order, progressively truncated,
+ * so that {@code sv-FI} falls back to {@code sv}. If no range matches, the entry without a locale is used as the
+ * default.
+ * </p>
+ *
+ * <p>
+ * Parsed priority lists are cached for all resolvers, and each resolver caches its own results. Both caches are
+ * bounded, and simply cleared when full.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class LocaleResolver {
+
+    private static final int MAX_CACHED_RANGES = 1024;
+    private static final int MAX_CACHED_RESOLUTIONS = 256;
+
+    private static final Map<String, List<LanguageRange>> RANGES = new ConcurrentHashMap<>();
+
+    private final List<Content> values;
+    private final Map<Resolution, Optional<Content>> resolutions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a resolver for the given entries, which must not change.
+     *
+     * @param values
+     *            to resolve from
+     */
+    LocaleResolver(List<Content> values) {
+
+        this.values = values;
+    }
+
+    /**
+     * Resolves the best entry for the given mime type and {@code Accept-Language} header value.
+     *
+     * @param mimeType
+     *            to resolve
+     * @param acceptLanguage
+     *            header value, malformed values resolves the default entry
+     *
+     * @return the best matching entry, or {@code null} if none matches and there is no default entry
+     */
+    Content resolve(MimeType mimeType, String acceptLanguage) {
+
+        return cached(new Resolution(mimeType, acceptLanguage), () -> parse(acceptLanguage));
+    }
+
+    /**
+     * Resolves the best entry for the given mime type and language priority list.
+     *
+     * @param mimeType
+     *            to resolve
+     * @param ranges
+     *            language priority list
+     *
+     * @return the best matching entry, or {@code null} if none matches and there is no default entry
+     */
+    Content resolve(MimeType mimeType, List<LanguageRange> ranges) {
+
+        return cached(new Resolution(mimeType, ranges), () -> ranges);
+    }
+
+    /**
+     * Resolves the best entry for the given mime type and locale, falling back as for a single language range.
+     *
+     * @param mimeType
+     *            to resolve
+     * @param locale
+     *            to resolve
+     *
+     * @return the best matching entry, or {@code null} if none matches and there is no default entry
+     */
+    Content resolve(MimeType mimeType, Locale locale) {
+
+        return cached(new Resolution(mimeType, locale), () -> List.of(new LanguageRange(locale.toLanguageTag())));
+    }
+
+    private Content cached(Resolution key, Supplier<List<LanguageRange>> ranges) {
+
+        Optional<Content> resolved = resolutions.get(key);
+
+        if (resolved == null) {
+            resolved = Optional.ofNullable(lookup(key.mimeType(), ranges.get()));
+            putBounded(resolutions, key.cacheable(), resolved, MAX_CACHED_RESOLUTIONS);
+        }
+
+        return resolved.orElse(null);
+    }
+
+    private Content lookup(MimeType mimeType, List<LanguageRange> ranges) {
+
+        Content fallback = null;
+        List<String> tags = new ArrayList<>();
+
+        for (Content content : values) {
+            if (!content.forMimeType(mimeType)) {
+                continue;
+            }
+
+            Locale locale = content.getLocale();
+
+            if (locale == null) {
+                fallback = fallback == null ? content : fallback;
+            } else {
+                tags.add(locale.toLanguageTag());
+            }
+        }
+
+        String tag = tags.isEmpty() || ranges.isEmpty() ? null : Locale.lookupTag(ranges, tags);
+
+        if (tag != null) {
+            for (Content content : values) {
+                Locale locale = content.getLocale();
+
+                if (locale != null && content.forMimeType(mimeType) && tag.equalsIgnoreCase(locale.toLanguageTag())) {
+                    return content;
+                }
+            }
+        }
+
+        return fallback;
+    }
+
+    private static List<LanguageRange> parse(String acceptLanguage) {
+
+        if (acceptLanguage == null || acceptLanguage.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        List<LanguageRange> ranges = RANGES.get(acceptLanguage);
+
+        if (ranges == null) {
+            try {
+                ranges = List.copyOf(LanguageRange.parse(acceptLanguage));
+            } catch (IllegalArgumentException e) {
+                ranges = Collections.emptyList();
+            }
+
+            putBounded(RANGES, acceptLanguage, ranges, MAX_CACHED_RANGES);
+        }
+
+        return ranges;
+    }
+
+    private static <K, V> void putBounded(Map<K, V> cache, K key, V value, int max) {
+
+        if (cache.size() >= max) {
+            cache.clear();
+        }
+
+        cache.put(key, value);
+    }
+
+    private record Resolution(MimeType mimeType, Object ranges) {
+
+        /**
+         * Returns this key, with an immutable copy of any language priority list, which the caller may still change.
+         */
+        Resolution cacheable() {
+
+            return ranges instanceof List<?> list ? new Resolution(mimeType, List.copyOf(list)) : this;
+        }
+    }
+}
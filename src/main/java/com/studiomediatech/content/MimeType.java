@@ -1,5 +1,8 @@
 package com.studiomediatech.content;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -51,12 +54,18 @@ ${type}/vnd.content.${name}+${subtype};${params}
  * content, to the user.
  * </p>
  *
- *
+ * <p>
+ * Each mime type is parsed once, when created, into its {@link #getType() type}, vendor {@link #getName() name},
+ * {@link #getSubtype() subtype} and {@link #getParams() params}. Instances created with {@link #valueOf(String)} are
+ * interned, and shared for equal mime type values.
+ * </p>
  *
  * @since 0.1
  */
 public final class MimeType {
 
+    private static final String VENDOR = "vnd.content.";
+
     /**
      * {@value #TEXT_SUBJECT_VAL}
      */
@@ -135,6 +144,13 @@ public final class MimeType {
     public static final MimeType IMAGE_APPICON = MimeType.of(IMAGE_APPICON_VAL);
 
     private final String mimeType;
+    private final String base;
+    private final String type;
+    private final String name;
+    private final String subtype;
+    private final Map<String, String> params;
+
+    private MimeType baseType;
 
     /**
      * Constructs a new mime type with the given value.
@@ -149,6 +165,182 @@ public final class MimeType {
     public MimeType(String mimeType) {
 
         this.mimeType = mimeType;
+
+        String value = mimeType == null ? "" : mimeType;
+        int semicolon = value.indexOf(';');
+
+        this.base = semicolon < 0 ? value : value.substring(0, semicolon);
+        this.params = semicolon < 0 ? Collections.emptyMap() : parseParams(value.substring(semicolon + 1));
+
+        int slash = base.indexOf('/');
+        String tree = slash < 0 ? "" : base.substring(slash + 1);
+
+        if (tree.startsWith(VENDOR)) {
+            tree = tree.substring(VENDOR.length());
+        }
+
+        int plus = tree.indexOf('+');
+
+        this.type = slash < 0 ? base : base.substring(0, slash);
+        this.name = plus < 0 ? tree : tree.substring(0, plus);
+        this.subtype = plus < 0 ? null : tree.substring(plus + 1);
+    }
+
+    private static Map<String, String> parseParams(String value) {
+
+        Map<String, String> params = new LinkedHashMap<>();
+
+        for (String param : value.split(";")) {
+            int equals = param.indexOf('=');
+
+            if (equals < 0) {
+                params.put(param.trim(), "");
+            } else {
+                params.put(param.substring(0, equals).trim(), param.substring(equals + 1).trim());
+            }
+        }
+
+        return Collections.unmodifiableMap(params);
+    }
+
+    /**
+     * Returns the shared mime type instance for the given value.
+     *
+     * <p>
+     * The returned instances are interned in a bounded registry, so that equal values share the same, already parsed,
+     * instance. Once the registry is full, new values are returned as non-shared instances.
+     * </p>
+     *
+     * @param mimeType
+     *            value to return the mime type for
+     *
+     * @return the mime type, never {@code null}
+     *
+     * @since 1.0
+     */
+    public static MimeType valueOf(String mimeType) {
+
+        Objects.requireNonNull(mimeType, "Mime type value must not be null");
+
+        return ContentSymbols.mimeTypeOf(mimeType);
+    }
+
+    /**
+     * Returns the top-level type, for example {@code text} for {@code text/vnd.content.appicon+uri;class=small}.
+     *
+     * @return the type, never {@code null}
+     *
+     * @since 1.0
+     */
+    public String getType() {
+
+        return type;
+    }
+
+    /**
+     * Returns the name, following the {@code vnd.content.} vendor specifier, for example {@code appicon} for
+     * {@code text/vnd.content.appicon+uri;class=small}.
+     *
+     * <p>
+     * For mime types without our vendor specifier, this is the full sub-type tree, without any suffix.
+     * </p>
+     *
+     * @return the name, never {@code null}
+     *
+     * @since 1.0
+     */
+    public String getName() {
+
+        return name;
+    }
+
+    /**
+     * Returns the {@code +} suffixed subtype, for example {@code uri} for
+     * {@code text/vnd.content.appicon+uri;class=small}.
+     *
+     * @return the subtype, or {@code null} if there is none
+     *
+     * @since 1.0
+     */
+    public String getSubtype() {
+
+        return subtype;
+    }
+
+    /**
+     * Returns the parameters, in declaration order, for example {@code class=small} for
+     * {@code text/vnd.content.appicon+uri;class=small}. Parameters without a value, are mapped to an empty string.
+     *
+     * @return an unmodifiable map of parameters, empty if there are none
+     *
+     * @since 1.0
+     */
+    public Map<String, String> getParams() {
+
+        return params;
+    }
+
+    /**
+     * Returns this mime type without any parameters.
+     *
+     * @return the base mime type, which is this instance if there are no parameters
+     *
+     * @since 1.0
+     */
+    public MimeType getBaseType() {
+
+        if (params.isEmpty()) {
+            return this;
+        }
+
+        MimeType b = this.baseType;
+
+        if (b == null) {
+            b = valueOf(base);
+            this.baseType = b;
+        }
+
+        return b;
+    }
+
+    /**
+     * Returns whether this mime type matches the given one, using the given match mode.
+     *
+     * @param other
+     *            mime type to match
+     * @param match
+     *            mode to use
+     *
+     * @return {@code true} if matching, otherwise {@code false}
+     *
+     * @since 1.0
+     */
+    public boolean matches(MimeType other, Match match) {
+
+        if (this == other) {
+            return true;
+        }
+
+        return switch (match) {
+        case EXACT -> Objects.equals(mimeType, other.mimeType);
+        case IGNORE_PARAMS -> base.equals(other.base);
+        case IGNORE_SUBTYPE_AND_PARAMS -> type.equals(other.type) && name.equals(other.name);
+        };
+    }
+
+    /**
+     * Returns whether this mime type is a variant of the given one, having the same base type but any parameters.
+     *
+     * @param other
+     *            mime type to match
+     *
+     * @return {@code true} if this mime type has the same base type, otherwise {@code false}
+     *
+     * @since 1.0
+     */
+    public boolean isVariantOf(MimeType other) {
+
+        return matches(other, Match.IGNORE_PARAMS);
     }
 
     /**
@@ -171,7 +363,7 @@ public final class MimeType {
      */
     private static MimeType of(String mimeTypeValue) {
 
-        return new MimeType(mimeTypeValue);
+        return valueOf(mimeTypeValue);
     }
 
     @Override
@@ -212,6 +404,31 @@ public final class MimeType {
      */
     public MimeType withParams(String params) {
 
-        return new MimeType(String.format("%s;%s", mimeType, params));
+        return valueOf(mimeType + ';' + params);
+    }
+
+    /**
+     * Modes for matching mime types.
+     *
+     * @since 1.0
+     */
+    public enum Match {
+
+        /**
+         * The full mime type, including any parameters, must match.
+         */
+        EXACT,
+
+        /**
+         * The mime type must match, but any parameters are ignored, for example {@code text/vnd.content.appicon}
+         * matches {@code text/vnd.content.appicon;class=small}.
+         */
+        IGNORE_PARAMS,
+
+        /**
+         * The type and name must match, but any subtype and parameters are ignored, for example
+         * {@code text/vnd.content.appicon} matches {@code text/vnd.content.appicon+uri;class=small}.
+         */
+        IGNORE_SUBTYPE_AND_PARAMS
     }
 }
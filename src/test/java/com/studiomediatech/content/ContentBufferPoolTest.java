@@ -0,0 +1,138 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.OutputStream;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.studiomediatech.content.Contents.Buildable;
+
+class ContentBufferPoolTest {
+
+    @Test
+    void ensureSerializesOffHeapValuesAsBinaryContent() throws Exception {
+
+        byte[] bytes = new byte[10_000];
+        Arrays.fill(bytes, (byte) 7);
+
+        try (ContentBufferPool pool = ContentBufferPool.create(1024 * 1024, 64 * 1024);
+                ContentBuffer buffer = pool.copyOf(bytes)) {
+            Buildable offHeap = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(buffer);
+            Buildable onHeap = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(bytes);
+
+            assertThat(buffer.buffer().isDirect()).isTrue();
+            assertThat(offHeap.asJSON()).isEqualTo(onHeap.asJSON());
+            assertThat(offHeap.asBinary()).isEqualTo(onHeap.asBinary());
+            assertThat(pool.usedBytes()).isEqualTo(16 * 1024);
+            assertThat(pool.reservedBytes()).isEqualTo(64 * 1024);
+
+            buffer.close();
+
+            assertThat(pool.usedBytes()).isZero();
+            assertThatThrownBy(() -> Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(buffer).asJSON())
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void ensureReusesReleasedBlocksWithinCapacity() throws Exception {
+
+        try (ContentBufferPool pool = ContentBufferPool.create(64 * 1024, 16 * 1024)) {
+            for (int i = 0; i < 100; i++) {
+                try (ContentBuffer buffer = pool.read(Channels.newChannel(new ByteArrayInputStream(new byte[5000])),
+                        5000)) {
+                    assertThat(buffer.size()).isEqualTo(5000);
+                }
+            }
+
+            assertThat(pool.reservedBytes()).isEqualTo(16 * 1024);
+
+            ContentBuffer large = pool.copyOf(new byte[40 * 1024]);
+            assertThat(pool.reservedBytes()).isEqualTo(56 * 1024);
+
+            ContentBuffer released = pool.copyOf(new byte[20 * 1024]);
+            assertThat(pool.reservedBytes()).isEqualTo(60 * 1024);
+
+            assertThatThrownBy(() -> pool.copyOf(new byte[20 * 1024])).isInstanceOf(IllegalStateException.class);
+
+            large.close();
+            large.close();
+            released.close();
+
+            assertThat(pool.reservedBytes()).isZero();
+            assertThat(pool.usedBytes()).isZero();
+
+            assertThatThrownBy(() -> pool.read(Channels.newChannel(new ByteArrayInputStream(new byte[10])), 20))
+                    .isInstanceOf(EOFException.class);
+            assertThat(pool.usedBytes()).isZero();
+        }
+    }
+
+    @Test
+    void ensureReclaimsFreeSlabsForOtherSizeClasses() throws Exception {
+
+        try (ContentBufferPool pool = ContentBufferPool.create(32 * 1024, 16 * 1024)) {
+            List<ContentBuffer> small = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                small.add(pool.copyOf(new byte[100]));
+            }
+
+            assertThat(pool.reservedBytes()).isEqualTo(32 * 1024);
+            assertThatThrownBy(() -> pool.copyOf(new byte[10 * 1024])).isInstanceOf(IllegalStateException.class);
+
+            small.forEach(ContentBuffer::close);
+
+            try (ContentBuffer first = pool.copyOf(new byte[10 * 1024]);
+                    ContentBuffer second = pool.copyOf(new byte[10 * 1024])) {
+                assertThat(pool.reservedBytes()).isEqualTo(32 * 1024);
+                assertThat(pool.usedBytes()).isEqualTo(32 * 1024);
+            }
+
+            assertThat(pool.usedBytes()).isZero();
+        }
+    }
+
+    @Test
+    void ensureFailsToUseContentsAfterBufferIsClosed() throws Exception {
+
+        try (ContentBufferPool pool = ContentBufferPool.create(1024 * 1024, 64 * 1024)) {
+            ContentBuffer buffer = pool.copyOf(new byte[] { 1, 2, 3 });
+            Buildable contents = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(buffer);
+            Contents built = new Contents(contents.asList());
+
+            ByteBuffer reading = buffer.acquire();
+            buffer.close();
+
+            assertThat(pool.usedBytes()).isEqualTo(4 * 1024);
+            assertThat(reading.get(2)).isEqualTo((byte) 3);
+
+            buffer.release();
+
+            assertThat(pool.usedBytes()).isZero();
+            assertThatThrownBy(contents::asJSON).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(contents::asBinary).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> contents.writeJSON(OutputStream.nullOutputStream()))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(built::digest).isInstanceOf(IllegalStateException.class);
+
+            try (ContentsWriter writer = Contents.writer(OutputStream.nullOutputStream(),
+                    ContentsWriter.Format.NDJSON)) {
+                assertThatThrownBy(() -> writer.write(built)).isInstanceOf(IllegalStateException.class);
+            }
+
+            assertThatThrownBy(buffer::buffer).isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
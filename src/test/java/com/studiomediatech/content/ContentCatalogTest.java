@@ -0,0 +1,57 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.junit.jupiter.api.Test;
+
+class ContentCatalogTest {
+
+    private static final Locale SV_FI = Locale.forLanguageTag("sv-FI");
+    private static final Locale FI = Locale.forLanguageTag("fi");
+
+    @Test
+    void ensureLoadsBundlesOfLocalesAndParents() {
+
+        ContentCatalog catalog = ContentCatalog.load("catalog.messages", List.of(SV_FI, FI, Locale.GERMAN));
+
+        assertThat(catalog.locales()).containsExactly(Locale.ROOT, Locale.forLanguageTag("sv"), FI);
+        assertThat(catalog.keys()).containsExactlyInAnyOrder("order.shipped", "order.cancelled");
+        assertThat(catalog.contents("order.missing", MimeType.TEXT_SUBJECT)).isNull();
+
+        Contents shipped = catalog.contents("order.shipped", MimeType.TEXT_SUBJECT);
+
+        assertThat(shipped.values()).hasSize(2);
+        assertThat(shipped.render(MimeType.TEXT_SUBJECT, SV_FI, "A-1")).isEqualTo("Din order A-1 har skickats");
+        assertThat(shipped.render(MimeType.TEXT_SUBJECT, FI, "A-1")).isEqualTo("Your order A-1 has shipped");
+        assertThat((String) shipped.forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo("Your order {0} has shipped");
+
+        Contents cancelled = catalog.contents("order.cancelled", MimeType.TEXT_BODY);
+
+        assertThat(cancelled.<String> forMimeTypeAndLocale(MimeType.TEXT_BODY, FI)).isEqualTo("Tilauksesi peruttiin");
+        assertThat(cancelled.<String> forMimeTypeAndLocale(MimeType.TEXT_BODY, SV_FI)).isNull();
+    }
+
+    @Test
+    void ensureSharesContentsPerKeyAndMimeType() {
+
+        ContentCatalog catalog = ContentCatalog.load("catalog.messages", List.of(FI));
+
+        assertThat(catalog.contents("order.shipped", MimeType.TEXT_SUBJECT))
+                .isSameAs(catalog.contents("order.shipped", MimeType.TEXT_SUBJECT))
+                .isNotSameAs(catalog.contents("order.shipped", MimeType.TEXT_BODY));
+    }
+
+    @Test
+    void ensureDoesNotIncludeInheritedValuesOfCachedBundles() {
+
+        ResourceBundle.getBundle("catalog.messages", FI);
+
+        ContentCatalog catalog = ContentCatalog.load("catalog.messages", List.of(FI));
+
+        assertThat(catalog.contents("order.shipped", MimeType.TEXT_SUBJECT).values()).hasSize(1);
+    }
+}
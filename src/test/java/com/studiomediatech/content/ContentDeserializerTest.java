@@ -1,6 +1,7 @@
 package com.studiomediatech.content;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.List;
 import java.util.Locale;
@@ -8,8 +9,10 @@ import java.util.Locale;
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 
 class ContentDeserializerTest {
 
@@ -41,4 +44,106 @@ class ContentDeserializerTest {
                 new Content("text/vnd.content.description", "Contact", Locale.forLanguageTag("en")));
 
     }
+
+    @Test
+    void ensureDeserializesFieldsInAnyOrder() throws Exception {
+
+        var json = """
+                [{
+                    "content": "AQID",
+                    "locale": "sv_FI",
+                    "mimeType": "image/vnd.content.appicon"
+                  }, {
+                    "locale": "en",
+                    "mimeType": "image/vnd.content.appicon",
+                    "content": "AQID"
+                  }]
+                """;
+
+        List<Content> contents = new ObjectMapper().readValue(json, new TypeReference<List<Content>>() {
+        });
+
+        assertThat(contents).hasSize(2);
+        assertThat(contents.get(0).getMimeType()).isEqualTo(MimeType.IMAGE_APPICON_VAL);
+        assertThat((byte[]) contents.get(0).getContent()).containsExactly(1, 2, 3);
+        assertThat(contents.get(0).getLocale()).isEqualTo(new Locale("sv", "FI"));
+        assertThat((byte[]) contents.get(1).getContent()).containsExactly(1, 2, 3);
+        assertThat(contents.get(1).getLocale()).isEqualTo(Locale.ENGLISH);
+    }
+
+    @Test
+    void ensureSkipsUnknownFieldsAndNonValueLocales() throws Exception {
+
+        var json = """
+                {
+                  "id": { "nested": [1, 2, 3] },
+                  "mimeType": "text/vnd.content.subject",
+                  "locale": { "language": "en" },
+                  "tags": ["a", "b"],
+                  "content": "Hello"
+                }
+                """;
+
+        Content content = new ObjectMapper().readValue(json, Content.class);
+
+        assertThat(content).isEqualTo(new Content("text/vnd.content.subject", "Hello"));
+    }
+
+    @Test
+    void ensureReadsWhatIsWritten() throws Exception {
+
+        var contents = Contents.withMimeType(MimeType.TEXT_BODY).andValue("Say it")
+                .andValue("Säg det", Locale.forLanguageTag("sv-FI")).andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 4, 5, 6 });
+
+        List<Content> read = new ObjectMapper().readValue(contents.asJSON(), new TypeReference<List<Content>>() {
+        });
+
+        assertThat(read).hasSize(3);
+        assertThat(read.subList(0, 2)).isEqualTo(contents.asList().subList(0, 2));
+        assertThat((byte[]) read.get(2).getContent()).containsExactly(4, 5, 6);
+    }
+
+    @Test
+    void ensureFailsForMissingMimeType() {
+
+        assertThatThrownBy(() -> new ObjectMapper().readValue("{\"content\": \"Hello\"}", Content.class))
+                .isInstanceOf(MismatchedInputException.class).hasMessageContaining("mimeType");
+    }
+
+    @Test
+    void ensureReadsBinaryContentLazily() throws Exception {
+
+        var json = """
+                [{"content":"AQID","mimeType":"image/vnd.content.appicon"},{"locale":"en","content":"Hello","mimeType":"text/vnd.content.subject"}]""";
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<Content> contents = mapper.readerFor(new TypeReference<List<Content>>() {
+        }).withAttribute(ContentDeserializer.LAZY_BINARY, true).readValue(json);
+
+        assertThat(contents.get(0).value()).isInstanceOf(Base64Content.class);
+        assertThat(contents.get(1).value()).isEqualTo("Hello");
+        assertThat(mapper.writeValueAsString(contents)).isEqualTo(json);
+
+        assertThat((byte[]) contents.get(0).getContent()).containsExactly(1, 2, 3);
+        assertThat(contents.get(0).getContent()).isSameAs(contents.get(0).getContent());
+
+        ((byte[]) contents.get(0).getContent())[0] = 9;
+        assertThat(mapper.writeValueAsString(contents)).contains("CQID");
+    }
+
+    @Test
+    void ensureSharesMimeTypeAndLocaleInstances() throws Exception {
+
+        var json = """
+                [{"mimeType":"text/vnd.content.subject","locale":"sv-FI","content":"Hej"},
+                 {"mimeType":"text/vnd.content.subject","locale":"sv-FI","content":"Hallå"}]""";
+
+        List<Content> contents = new ObjectMapper().readValue(json, new TypeReference<List<Content>>() {
+        });
+
+        assertThat(contents.get(0).getMimeType()).isSameAs(MimeType.TEXT_SUBJECT_VAL);
+        assertThat(contents.get(1).getMimeType()).isSameAs(MimeType.TEXT_SUBJECT_VAL);
+        assertThat(contents.get(0).getLocale()).isSameAs(contents.get(1).getLocale());
+    }
 }
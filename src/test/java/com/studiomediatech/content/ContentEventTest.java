@@ -0,0 +1,65 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.studiomediatech.content.Contents.Buildable;
+
+class ContentEventTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void ensureRecordsEncodeAndDecodeEventsWhenEnabled() throws Exception {
+
+        Buildable builder = Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello")
+                .andWithMimeType(MimeType.IMAGE_APPICON).andValue(new byte[] { 1, 2, 3 });
+
+        // Not recorded, disabled by default
+        byte[] json = builder.asJSON().getBytes(StandardCharsets.UTF_8);
+
+        Path file = dir.resolve("content.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.studiomediatech.content.Encode");
+            recording.enable("com.studiomediatech.content.Decode");
+            recording.start();
+
+            builder.asMap();
+            ContentsJson.READER.readValue(json);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        assertThat(events).extracting(e -> e.getEventType().getName())
+                .containsExactly("com.studiomediatech.content.Encode", "com.studiomediatech.content.Decode");
+
+        RecordedEvent encode = events.get(0);
+        assertThat(encode.getString("operation")).isEqualTo("asMap");
+        assertThat(encode.getInt("entries")).isEqualTo(2);
+        assertThat(encode.getInt("textEntries")).isEqualTo(1);
+        assertThat(encode.getInt("binaryEntries")).isEqualTo(1);
+        assertThat(encode.getLong("valueSize")).isEqualTo(8);
+        assertThat(encode.getLong("encodedSize")).isEqualTo(-1);
+
+        RecordedEvent decode = events.get(1);
+        assertThat(decode.getString("operation")).isEqualTo("deserializeContents");
+        assertThat(decode.getInt("entries")).isEqualTo(2);
+        assertThat(decode.getLong("encodedSize")).isEqualTo(json.length);
+    }
+}
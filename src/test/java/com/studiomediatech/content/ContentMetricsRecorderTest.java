@@ -0,0 +1,69 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studiomediatech.content.ContentMetrics.Operation;
+import com.studiomediatech.content.Contents.Buildable;
+
+class ContentMetricsRecorderTest {
+
+    @AfterEach
+    void uninstall() {
+
+        ContentMetrics.install(null);
+    }
+
+    @Test
+    void ensureRecordsSerializationAndLookups() throws Exception {
+
+        Buildable builder = Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello")
+                .andValue("Hallå", Locale.forLanguageTag("sv")).andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[300]);
+
+        ContentMetricsRecorder recorder = new ContentMetricsRecorder();
+        ContentMetrics.install(recorder);
+
+        String json = builder.asJSON();
+        builder.asMap();
+
+        new ObjectMapper().readValue(json, Content[].class);
+
+        Contents contents = new Contents(builder.asList());
+        contents.forMimeType(MimeType.TEXT_SUBJECT);
+        contents.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.forLanguageTag("sv"));
+        contents.forMimeType(MimeType.TEXT_BODY);
+
+        ContentMetricsRecorder.Snapshot snapshot = recorder.snapshot();
+
+        assertThat(snapshot.timer(Operation.AS_JSON).count()).isEqualTo(1);
+        assertThat(snapshot.timer(Operation.AS_MAP).count()).isEqualTo(1);
+        assertThat(snapshot.timer(Operation.DESERIALIZE).count()).isEqualTo(3);
+        assertThat(snapshot.timer(Operation.LOOKUP).count()).isEqualTo(3);
+        assertThat(snapshot.timer(Operation.LOOKUP).maxNanos()).isPositive();
+
+        ContentMetricsRecorder.SizeSnapshot text = snapshot.sizes(Operation.AS_JSON, MimeType.TEXT_SUBJECT);
+        assertThat(text.count()).isEqualTo(2);
+        assertThat(text.totalBytes()).isEqualTo(5 + 6);
+        assertThat(text.bucketOf(5)).isEqualTo(2);
+
+        ContentMetricsRecorder.SizeSnapshot icons = snapshot.sizes(Operation.DESERIALIZE, MimeType.IMAGE_APPICON);
+        assertThat(icons.totalBytes()).isEqualTo(300);
+        assertThat(icons.bucketOf(256)).isEqualTo(1);
+
+        assertThat(snapshot.lookups(MimeType.TEXT_SUBJECT)).isEqualTo(new ContentMetricsRecorder.LookupSnapshot(2, 0));
+        assertThat(snapshot.lookups(MimeType.TEXT_BODY)).isEqualTo(new ContentMetricsRecorder.LookupSnapshot(0, 1));
+
+        recorder.reset();
+        ContentMetrics.install(null);
+        contents.forMimeType(MimeType.TEXT_SUBJECT);
+
+        assertThat(recorder.snapshot().timer(Operation.LOOKUP).count()).isZero();
+        assertThat(recorder.snapshot().lookups()).isEmpty();
+    }
+}
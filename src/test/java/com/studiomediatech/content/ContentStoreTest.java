@@ -0,0 +1,175 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ContentStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void ensureStoresReplacesAndRemovesContents() throws Exception {
+
+        try (ContentStore store = ContentStore.open(dir)) {
+            store.put(1, subject("One"));
+            store.put(2, subject("Two"));
+            store.put(1, subject("Uno"));
+
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get(1).<String> forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo("Uno");
+            assertThat(store.get(2).<String> forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.forLanguageTag("sv")))
+                    .isEqualTo("Två");
+
+            assertThat(store.remove(2)).isTrue();
+            assertThat(store.remove(2)).isFalse();
+            assertThat(store.get(2)).isNull();
+            assertThat(store.contains(1)).isTrue();
+        }
+
+        try (ContentStore store = ContentStore.open(dir)) {
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.get(1).<String> forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo("Uno");
+        }
+    }
+
+    @Test
+    void ensureGrowsIndexAndCompactsLog() throws Exception {
+
+        try (ContentStore store = ContentStore.open(dir)) {
+            for (long id = 0; id < 5000; id++) {
+                store.put(id * 7919, subject("First " + id));
+                store.put(id * 7919, subject("Second " + id));
+            }
+
+            for (long id = 0; id < 5000; id += 2) {
+                store.remove(id * 7919);
+            }
+
+            long before = store.logSize();
+            store.compact();
+
+            assertThat(store.logSize()).isLessThan(before / 3);
+            assertThat(store.size()).isEqualTo(2500);
+            assertThat(store.get(7919).<String> forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo("Second 1");
+            assertThat(store.get(2 * 7919)).isNull();
+
+            store.put(1, subject("After"));
+        }
+
+        try (ContentStore store = ContentStore.open(dir)) {
+            assertThat(store.size()).isEqualTo(2501);
+            assertThat(store.get(4999L * 7919).<String> forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo("Second 4999");
+            assertThat(store.get(1).<String> forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo("After");
+        }
+    }
+
+    @Test
+    void ensureRecoversFromTornTailAndMissingIndex() throws Exception {
+
+        try (ContentStore store = ContentStore.open(dir)) {
+            store.put(1, subject("One"));
+            store.put(2, subject("Two"));
+        }
+
+        long size = Files.size(dir.resolve("contents.log"));
+
+        try (FileChannel log = FileChannel.open(dir.resolve("contents.log"), StandardOpenOption.WRITE)) {
+            log.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 42, 0, 0, 0, 0, 0, 0, 0, 3, 1, 2 }), size);
+        }
+
+        try (ContentStore store = ContentStore.open(dir)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.logSize()).isEqualTo(size);
+
+            store.put(3, subject("Three"));
+        }
+
+        Files.delete(dir.resolve("contents.idx"));
+
+        try (ContentStore store = ContentStore.open(dir)) {
+            assertThat(store.size()).isEqualTo(3);
+            assertThat(store.get(3).<String> forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo("Three");
+        }
+    }
+
+    @Test
+    void ensureFailsToReadCorruptRecord() throws Exception {
+
+        try (ContentStore store = ContentStore.open(dir)) {
+            store.put(1, subject("One"));
+            store.put(2, subject("Two"));
+        }
+
+        long size = Files.size(dir.resolve("contents.log"));
+
+        try (FileChannel log = FileChannel.open(dir.resolve("contents.log"), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            log.read(last, size - 1);
+            log.write(ByteBuffer.wrap(new byte[] { (byte) ~last.get(0) }), size - 1);
+        }
+
+        try (ContentStore store = ContentStore.open(dir)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get(1).<String> forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo("One");
+
+            assertThatThrownBy(() -> store.get(2)).isInstanceOf(IOException.class).hasMessageContaining("Corrupt");
+        }
+    }
+
+    @Test
+    void ensureLocksDirectoryAndRejectsUseAfterClose() throws Exception {
+
+        ContentStore store = ContentStore.open(dir);
+        store.put(1, subject("One"));
+
+        assertThatThrownBy(() -> ContentStore.open(dir)).isInstanceOf(IOException.class);
+
+        store.close();
+        store.close();
+
+        assertThatThrownBy(() -> store.get(1)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.put(2, subject("Two"))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.contains(1)).isInstanceOf(IllegalStateException.class);
+
+        try (ContentStore reopened = ContentStore.open(dir)) {
+            assertThat(reopened.get(1).<String> forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo("One");
+        }
+    }
+
+    @Test
+    void ensureReadsRecordsAcrossMappedRegions() throws Exception {
+
+        String value = "x".repeat(100_000);
+
+        try (ContentStore store = ContentStore.open(dir)) {
+            for (long id = 0; id < 50; id++) {
+                store.put(id, subject(value + id));
+            }
+
+            for (long id = 0; id < 50; id++) {
+                assertThat(store.get(id).<String> forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo(value + id);
+            }
+        }
+    }
+
+    private static Contents subject(String value) {
+
+        return new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue(value)
+                .andValue(value.equals("Two") ? "Två" : value, Locale.forLanguageTag("sv")).asList());
+    }
+}
@@ -2,6 +2,8 @@ package com.studiomediatech.content;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
+
 import java.util.Locale;
 
 import org.junit.jupiter.api.Test;
@@ -9,12 +11,16 @@ import org.junit.jupiter.api.Test;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
 
 public class ContentTest {
 
     @Test
     void ensureEqualsByValue() throws Exception {
-        EqualsVerifier.simple().forClass(Content.class).verify();
+
+        EqualsVerifier.forClass(Content.class).suppress(Warning.STRICT_INHERITANCE)
+                .withPrefabValues(MimeType.class, MimeType.TEXT_SUBJECT, MimeType.TEXT_BODY)
+                .withIgnoredFields("digest", "hash", "type").verify();
     }
 
     @Test
@@ -56,4 +62,68 @@ public class ContentTest {
         assertThat(content.getMimeType()).isEqualTo(MimeType.IMAGE_APPICON_VAL);
         assertThat((byte[]) content.getContent()).containsExactly(bytes);
     }
+
+    @Test
+    public void ensureWritesContentAsJSON() throws Exception {
+
+        Content content = new Content(MimeType.TEXT_SUBJECT_VAL, "Hello", Locale.ENGLISH);
+
+        String json = new ObjectMapper().writeValueAsString(content);
+
+        assertThat(json).isEqualTo(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello", Locale.ENGLISH)
+                .asJSON().replace("[", "").replace("]", ""));
+        assertThat(new ObjectMapper().readValue(json, Content.class)).isEqualTo(content);
+    }
+
+    @Test
+    void ensureEqualsAndDigestsBinaryContentByBytes() throws Exception {
+
+        Content bytes = new Content(MimeType.IMAGE_APPICON_VAL, new byte[] { 1, 2, 3 });
+        Content copy = new Content(MimeType.IMAGE_APPICON_VAL, new byte[] { 1, 2, 3 });
+        Content buffer = new Content(MimeType.IMAGE_APPICON_VAL,
+                ByteBuffer.allocateDirect(3).put(new byte[] { 1, 2, 3 }).flip());
+
+        assertThat(bytes).isEqualTo(copy).isEqualTo(buffer).hasSameHashCodeAs(copy).hasSameHashCodeAs(buffer);
+        assertThat(bytes.digest()).hasSize(32).isEqualTo(copy.digest()).isEqualTo(buffer.digest());
+
+        assertThat(new Content(MimeType.IMAGE_APPICON_VAL, new byte[] { 1, 2, 4 }).digest())
+                .isNotEqualTo(bytes.digest());
+        assertThat(new Content(MimeType.IMAGE_APPICON_VAL, new byte[] { 1, 2, 3 }, Locale.ENGLISH).digest())
+                .isNotEqualTo(bytes.digest());
+        assertThat(new Content(MimeType.TEXT_SUBJECT_VAL, "ab").digest())
+                .isNotEqualTo(new Content(MimeType.TEXT_SUBJECT_VAL, "a", Locale.forLanguageTag("b")).digest());
+    }
+
+    @Test
+    void ensureEqualsAndHashesWithoutDecodingLazyBinaryContent() throws Exception {
+
+        byte[] bytes = new byte[] { 1, 2, 3 };
+        String json = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(bytes).asJSON().replace("[", "")
+                .replace("]", "");
+
+        Content lazy = new ObjectMapper().readerFor(Content.class).withAttribute(ContentDeserializer.LAZY_BINARY, true)
+                .readValue(json);
+        Content eager = new Content(MimeType.IMAGE_APPICON_VAL, bytes);
+
+        assertThat(lazy).isEqualTo(eager).hasSameHashCodeAs(eager);
+        assertThat(lazy.digest()).isEqualTo(eager.digest());
+        assertThat(lazy).isEqualTo(eager);
+        assertThat(((Base64Content) lazy.value()).isDecoded()).isFalse();
+    }
+
+    @Test
+    void ensureEqualsAndHashesClosedBuffersWithoutFailing() throws Exception {
+
+        try (ContentBufferPool pool = ContentBufferPool.create(4 * 1024 * 1024)) {
+            ContentBuffer buffer = pool.copyOf(new byte[] { 1, 2, 3 });
+            Content content = new Content(MimeType.IMAGE_APPICON_VAL, buffer);
+            Content bytes = new Content(MimeType.IMAGE_APPICON_VAL, new byte[] { 1, 2, 3 });
+
+            buffer.close();
+
+            assertThat(content.hashCode()).isEqualTo(content.hashCode());
+            assertThat(content).isEqualTo(content).isNotEqualTo(bytes);
+            assertThat(bytes).isNotEqualTo(content);
+        }
+    }
 }
@@ -0,0 +1,125 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ContentsBatchTest {
+
+    @Test
+    void ensureDecodesPayloadsInInputOrder() throws Exception {
+
+        List<byte[]> payloads = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            payloads.add(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Subject " + i).asJSON()
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Contents> contents = ContentsBatch.decode(payloads, executor, 4);
+
+            assertThat(contents).hasSize(100);
+            IntStream.range(0, 100).forEach(i -> assertThat((String) contents.get(i).forMimeType(MimeType.TEXT_SUBJECT))
+                    .isEqualTo("Subject " + i));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ContentsBatch.decode(List.of())).isEmpty();
+    }
+
+    @Test
+    void ensureDecodesSmallBatchOfLargePayloadsOnAllWorkers() throws Exception {
+
+        List<byte[]> payloads = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            payloads.add(Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(new byte[1024 * 1024]).asJSON()
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch started = new CountDownLatch(4);
+        Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+        Executor executor = task -> pool.execute(() -> {
+            started.countDown();
+
+            try {
+                started.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            workers.add(Thread.currentThread());
+            task.run();
+        });
+
+        try {
+            List<Contents> contents = ContentsBatch.decode(payloads, executor, 4);
+
+            assertThat(contents).hasSize(4).doesNotContainNull();
+            assertThat(started.getCount()).isZero();
+            assertThat(workers).hasSize(4);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void ensureFailsWithIndexOfInvalidPayload() {
+
+        List<byte[]> payloads = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            payloads.add((i == 13 ? "{}" : "[]").getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThatThrownBy(() -> ContentsBatch.decode(payloads)).isInstanceOf(IOException.class)
+                .hasMessageContaining("document 13");
+    }
+
+    @Test
+    void ensureDecodesLinesOfFile(@TempDir Path dir) throws Exception {
+
+        Path file = dir.resolve("contents.ndjson");
+
+        try (OutputStream out = Files.newOutputStream(file);
+                ContentsWriter writer = Contents.writer(out, ContentsWriter.Format.NDJSON)) {
+            for (int i = 0; i < 50; i++) {
+                writer.write(new Contents(Contents.withMimeType(MimeType.TEXT_BODY).andValue("Body " + i).asList()));
+            }
+        }
+
+        Files.writeString(file, "\n\n", StandardOpenOption.APPEND);
+
+        List<Contents> contents = ContentsBatch.decodeLines(file, Runnable::run, 1);
+
+        assertThat(contents).hasSize(50);
+        assertThat((String) contents.get(49).forMimeType(MimeType.TEXT_BODY)).isEqualTo("Body 49");
+    }
+}
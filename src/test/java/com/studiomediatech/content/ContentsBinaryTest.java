@@ -0,0 +1,80 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import com.studiomediatech.content.Contents.Buildable;
+
+class ContentsBinaryTest {
+
+    @Test
+    void ensureRoundTripsTextAndBinaryContent() throws Exception {
+
+        Buildable contents = Contents.withMimeType(MimeType.TEXT_BODY).andValue("Say it")
+                .andValue("Säg det", Locale.forLanguageTag("sv-FI")).andValue("Sano se", Locale.forLanguageTag("fi"))
+                .andWithMimeType(MimeType.TEXT_APPICON.withParams("class=small")).andValue("/small.svg")
+                .andValue("/liten.svg", Locale.forLanguageTag("sv-FI")).andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 }).andValue(ByteBuffer.allocateDirect(2).put((byte) 4).flip());
+
+        List<Content> decoded = ContentsBinary.decode(ByteBuffer.wrap(contents.asBinary()));
+        List<Content> expected = contents.asList();
+
+        assertThat(decoded).hasSize(expected.size());
+        assertThat(decoded.subList(0, 5)).isEqualTo(expected.subList(0, 5));
+        assertThat((byte[]) decoded.get(5).getContent()).containsExactly(1, 2, 3);
+        assertThat((byte[]) decoded.get(6).getContent()).containsExactly(4);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        contents.writeBinary(out);
+        assertThat(out.toByteArray()).isEqualTo(contents.asBinary());
+
+        Contents read = Contents.fromBinary(contents.asBinary());
+        assertThat((String) read.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.forLanguageTag("fi")))
+                .isEqualTo("Sano se");
+    }
+
+    @Test
+    void ensureIsSmallerThanJson() throws Exception {
+
+        byte[] image = new byte[3000];
+        Arrays.fill(image, (byte) 7);
+
+        Buildable contents = Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello")
+                .andValue("Hej", Locale.forLanguageTag("sv")).andWithMimeType(MimeType.IMAGE_APPICON).andValue(image);
+
+        assertThat(contents.asBinary().length)
+                .isLessThan(contents.asJSON().getBytes(StandardCharsets.UTF_8).length * 3 / 4);
+
+        // Magic, version, count, then a single byte each for mime type code, locale code and value kind
+        assertThat(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hi").asBinary()).containsExactly(0xCC, 1, 1,
+                1, 0, 0, 2, 'H', 'i');
+    }
+
+    @Test
+    void ensureFailsForInvalidInput() throws Exception {
+
+        byte[] bytes = Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello").asBinary();
+
+        assertThatThrownBy(() -> Contents.fromBinary(Arrays.copyOf(bytes, bytes.length - 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Contents.fromBinary("[]".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Lengths and counts over Integer.MAX_VALUE, read as negative
+        assertThatThrownBy(() -> Contents.fromBinary(new byte[] { (byte) 0xCC, 1, 1, 1, 0, 0, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, 0x0F, 'H', 'i' })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Contents.fromBinary(
+                new byte[] { (byte) 0xCC, 1, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08, 1, 0, 0, 0 }))
+                        .isInstanceOf(IllegalArgumentException.class);
+    }
+}
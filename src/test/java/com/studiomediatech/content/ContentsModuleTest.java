@@ -0,0 +1,49 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.studiomediatech.content.Contents.Buildable;
+
+class ContentsModuleTest {
+
+    record Notification(String id, Contents contents) {
+        // OK
+    }
+
+    @Test
+    void ensureWritesAndReadsEmbeddedContents() throws Exception {
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new ContentsModule());
+
+        Buildable contents = Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello")
+                .andValue("Hej", Locale.forLanguageTag("sv")).andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 });
+
+        String json = mapper.writeValueAsString(new Notification("n1", new Contents(contents.asList())));
+
+        assertThat(json).isEqualTo("{\"id\":\"n1\",\"contents\":" + contents.asJSON() + "}");
+
+        Notification read = mapper.readValue(json, Notification.class);
+
+        assertThat(read.id()).isEqualTo("n1");
+        assertThat((String) read.contents().forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.forLanguageTag("sv")))
+                .isEqualTo("Hej");
+        assertThat((byte[]) read.contents().forMimeType(MimeType.IMAGE_APPICON)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void ensureFailsForNonArrayContents() {
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new ContentsModule());
+
+        assertThatThrownBy(() -> mapper.readValue("{\"id\":\"n1\",\"contents\":{}}", Notification.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+public class ContentsPatchTest {
+
+    private static final Locale SV = Locale.forLanguageTag("sv");
+    private static final Locale FI = Locale.forLanguageTag("fi");
+    private static final Locale DE = Locale.forLanguageTag("de");
+
+    @Test
+    void ensureEqualContentsHaveEmptyPatch() throws Exception {
+
+        Contents one = contents("Hello", "Hej");
+        Contents two = contents("Hello", "Hej");
+
+        ContentsPatch patch = one.diff(two);
+
+        assertThat(patch.isEmpty()).isTrue();
+        assertThat(patch.fromETag()).isEqualTo(patch.toETag()).isEqualTo(one.etag());
+        assertThat(patch.apply(one).etag()).isEqualTo(two.etag());
+    }
+
+    @Test
+    void ensurePatchesChangedAddedAndRemovedEntries() throws Exception {
+
+        Contents from = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello", Locale.ENGLISH)
+                .andValue("Hej", SV).andValue("Moi", FI).andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 }).asList());
+        Contents to = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello!", Locale.ENGLISH)
+                .andValue("Hej", SV).andValue("Hallo", DE).andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 }).andWithMimeType(MimeType.TEXT_BODY).andValue("Body").asList());
+
+        ContentsPatch patch = from.diff(to);
+
+        assertThat(patch.isEmpty()).isFalse();
+        assertThat(patch.toString()).contains("removed=1", "changed=1", "added=2");
+        assertThat(patch.apply(from).etag()).isEqualTo(to.etag());
+        assertThat(ContentsPatch.fromJSON(patch.asJSON()).apply(from).etag()).isEqualTo(to.etag());
+    }
+
+    @Test
+    void ensurePatchesMovedAndRepeatedEntries() throws Exception {
+
+        Contents from = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("a").andValue("b")
+                .andWithMimeType(MimeType.TEXT_BODY).andValue("c").andWithMimeType(MimeType.TEXT_DESCRIPTION)
+                .andValue("d").asList());
+        Contents to = new Contents(Contents.withMimeType(MimeType.TEXT_DESCRIPTION).andValue("d")
+                .andWithMimeType(MimeType.TEXT_SUBJECT).andValue("a").andValue("b2").andValue("b3")
+                .andWithMimeType(MimeType.TEXT_BODY).andValue("c").asList());
+
+        ContentsPatch patch = from.diff(to);
+        ContentsPatch read = ContentsPatch.fromJSON(patch.asJSON());
+
+        assertThat(patch.apply(from).values()).isEqualTo(to.values());
+        assertThat(read.apply(from).values()).isEqualTo(to.values());
+        assertThat(patch.asJSON()).contains("\"n\":1", "\"n\":2", "\"after\":");
+    }
+
+    @Test
+    void ensurePatchIsOnlyAppliedToItsBase() throws Exception {
+
+        Contents from = contents("Hello", "Hej");
+        Contents to = contents("Hello", "Hejsan");
+
+        ContentsPatch patch = from.diff(to);
+
+        assertThatThrownBy(() -> patch.apply(to)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(from.etag());
+    }
+
+    @Test
+    void ensurePatchIsSmallerThanContentsForSmallChanges() throws Exception {
+
+        Contents.Builder from = Contents.withMimeType(MimeType.TEXT_SUBJECT);
+        Contents.Builder to = Contents.withMimeType(MimeType.TEXT_SUBJECT);
+
+        for (Locale locale : Locale.getAvailableLocales()) {
+            if (!locale.getLanguage().isEmpty() && locale.getCountry().isEmpty()) {
+                String text = "Subject in " + locale.getDisplayLanguage(locale);
+                from = from.andValue(text, locale);
+                to = to.andValue(locale.equals(Locale.ENGLISH) ? text + "!" : text, locale);
+            }
+        }
+
+        Contents base = new Contents(((Contents.Buildable) from).asList());
+        Contents target = new Contents(((Contents.Buildable) to).asList());
+        ContentsPatch patch = base.diff(target);
+
+        assertThat(patch.asJSON().length()).isLessThan(((Contents.Buildable) from).asJSON().length() / 10);
+        assertThat(ContentsPatch.fromJSON(patch.asJSON()).apply(base).etag()).isEqualTo(target.etag());
+    }
+
+    @Test
+    void ensureRejectsInvalidPatchJson() {
+
+        assertThatThrownBy(() -> ContentsPatch.fromJSON("{\"removed\":[]}")).hasMessageContaining("`from`");
+    }
+
+    private static Contents contents(String english, String swedish) {
+
+        return new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue(english, Locale.ENGLISH)
+                .andValue(swedish, SV).asList());
+    }
+}
@@ -0,0 +1,69 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class ContentsReaderTest {
+
+    @Test
+    void ensureReadsNewlineDelimitedDocuments() throws Exception {
+
+        var json = """
+                {"id":"n1","contents":[{"content":"Hello","mimeType":"text/vnd.content.subject"}]}
+                {"contents":[{"locale":"sv","content":"Hej","mimeType":"text/vnd.content.subject"}],"id":"n2"}
+                {"id":"n3"}
+                """;
+
+        try (ContentsReader reader = Contents.reader(input(json))) {
+            assertThat(reader.hasNext()).isTrue();
+            assertThat((String) reader.next().forMimeType(MimeType.TEXT_SUBJECT)).isEqualTo("Hello");
+            assertThat((String) reader.next().forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.forLanguageTag("sv")))
+                    .isEqualTo("Hej");
+            assertThat(reader.next().values()).isEmpty();
+            assertThat(reader.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    void ensureStreamsDocumentsOfArray() throws Exception {
+
+        var json = """
+                [{"contents":[{"content":"One","mimeType":"text/vnd.content.body"}]},
+                 {"contents":[{"content":"AQID","mimeType":"image/vnd.content.appicon"}]}]""";
+
+        List<Contents> documents;
+
+        try (var stream = Contents.reader(input(json)).stream()) {
+            documents = stream.collect(Collectors.toList());
+        }
+
+        assertThat(documents).hasSize(2);
+        assertThat((String) documents.get(0).forMimeType(MimeType.TEXT_BODY)).isEqualTo("One");
+        assertThat((byte[]) documents.get(1).forMimeType(MimeType.IMAGE_APPICON)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void ensureFailsForNonObjectDocuments() throws Exception {
+
+        try (ContentsReader reader = Contents.reader(input("[1, 2]"))) {
+            assertThatThrownBy(reader::hasNext).isInstanceOf(UncheckedIOException.class);
+        }
+    }
+
+    private static InputStream input(String json) {
+
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
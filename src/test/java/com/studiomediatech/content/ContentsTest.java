@@ -1,17 +1,39 @@
 package com.studiomediatech.content;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import java.text.MessageFormat;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.skyscreamer.jsonassert.JSONAssert;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.studiomediatech.content.Contents.Buildable;
 import com.studiomediatech.content.Contents.Builder;
+import com.studiomediatech.content.Contents.Reusable;
 
 public class ContentsTest {
 
@@ -109,6 +131,44 @@ public class ContentsTest {
                 + "{mimeType: 'text/vnd.content.body', content: 'Säg det', locale: 'sv'}]", json, true);
     }
 
+    @Test
+    public void ensureJsonIsUnchangedFromMapRepresentation() throws Exception {
+
+        Buildable contents = Contents.withMimeType(MimeType.TEXT_BODY).andValue("Say it")
+                .andValue("Säg det", Locale.forLanguageTag("sv-FI")).andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 });
+
+        assertThat(contents.asJSON()).isEqualTo(new ObjectMapper().writeValueAsString(contents.asMap()));
+    }
+
+    @Test
+    public void ensureWritesJsonToStreamsAndGenerators() throws Exception {
+
+        Buildable contents = Contents.withMimeType(MimeType.TEXT_BODY).andValue("Say it").andValue("Säg det",
+                Locale.forLanguageTag("sv"));
+
+        String json = contents.asJSON();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        contents.writeJSON(out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(json);
+
+        StringWriter writer = new StringWriter();
+        contents.writeJSON(writer);
+        assertThat(writer.toString()).isEqualTo(json);
+
+        StringWriter embedded = new StringWriter();
+
+        try (JsonGenerator gen = new ObjectMapper().createGenerator(embedded)) {
+            gen.writeStartObject();
+            gen.writeFieldName("contents");
+            contents.writeJSON(gen);
+            gen.writeEndObject();
+        }
+
+        assertThat(embedded.toString()).isEqualTo("{\"contents\":" + json + "}");
+    }
+
     @Test
     public void ensureRetrievesContentByMimeType() throws Exception {
 
@@ -133,6 +193,23 @@ public class ContentsTest {
         assertThat(v2).isEqualTo("variant");
     }
 
+    @Test
+    public void ensureRetrievesAllVariantsOfMimeType() throws Exception {
+
+        List<Content> contents = Contents.withMimeType(MimeType.TEXT_APPICON.withParams("class=small"))
+                .andValue("/small.svg").andWithMimeType(MimeType.TEXT_BODY).andValue("body")
+                .andWithMimeType(MimeType.TEXT_APPICON).andValue("/default.svg")
+                .andWithMimeType(MimeType.TEXT_APPICON.withParams("class=large")).andValue("/large.svg").asList();
+
+        List<Content> variants = new Contents(contents).forMimeTypeVariants(MimeType.TEXT_APPICON);
+        List<Content> indexed = new Contents(contents).indexed()
+                .forMimeTypeVariants(MimeType.TEXT_APPICON.withParams("class=small"));
+
+        assertThat(variants).extracting(Content::getContent).containsExactly("/small.svg", "/default.svg",
+                "/large.svg");
+        assertThat(indexed).isEqualTo(variants);
+    }
+
     @Test
     public void ensureRetreivesContentByMimeTypeAndLocale() throws Exception {
 
@@ -144,6 +221,113 @@ public class ContentsTest {
         assertThat(value).isEqualTo("Säg det");
     }
 
+    @Test
+    public void ensureIndexedLookupsMatchLinearLookups() throws Exception {
+
+        Locale sv = Locale.forLanguageTag("sv");
+        Locale svFi = Locale.forLanguageTag("sv-FI");
+
+        Contents contents = new Contents(
+                Contents.withMimeType(MimeType.TEXT_BODY).andValue("Say it").andValue("Säg det", svFi)
+                        .andValue("Säg det igen", sv).andWithMimeType(MimeType.TEXT_BODY).andValue("Say it again")
+                        .andWithMimeType(MimeType.TEXT_SUBJECT).andValue("Hello", Locale.ENGLISH).asList());
+
+        Contents indexed = contents.indexed();
+
+        assertThat(indexed).isNotSameAs(contents);
+        assertThat(indexed.indexed()).isSameAs(indexed);
+
+        for (MimeType mimeType : List.of(MimeType.TEXT_BODY, MimeType.TEXT_SUBJECT, MimeType.TEXT_DESCRIPTION)) {
+            assertThat((Object) indexed.forMimeType(mimeType)).isEqualTo(contents.forMimeType(mimeType));
+
+            for (Locale locale : List.of(sv, svFi, Locale.ENGLISH, Locale.GERMAN)) {
+                assertThat((Object) indexed.forMimeTypeAndLocale(mimeType, locale))
+                        .isEqualTo(contents.forMimeTypeAndLocale(mimeType, locale));
+            }
+        }
+
+        assertThat((String) indexed.forMimeType(MimeType.TEXT_BODY)).isEqualTo("Say it");
+        assertThat((String) indexed.forMimeTypeAndLocale(MimeType.TEXT_BODY, sv)).isEqualTo("Säg det");
+        assertThat((String) indexed.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, sv)).isNull();
+    }
+
+    @Test
+    public void ensureCompactContentsMatchLinearContents() throws Exception {
+
+        Locale sv = Locale.forLanguageTag("sv");
+        Locale svFi = Locale.forLanguageTag("sv-FI");
+
+        Contents contents = new Contents(Contents.withMimeType(MimeType.TEXT_BODY).andValue("Say it")
+                .andValue("Säg det", svFi).andValue("Säg det igen", sv).andWithMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hello", Locale.ENGLISH).andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 }).asList());
+
+        Contents compact = contents.compact();
+
+        assertThat(compact).isNotSameAs(contents);
+        assertThat(compact.compact()).isSameAs(compact);
+        assertThat(compact.values()).isEqualTo(contents.values());
+
+        for (MimeType mimeType : List.of(MimeType.TEXT_BODY, MimeType.TEXT_SUBJECT, MimeType.TEXT_DESCRIPTION)) {
+            assertThat((Object) compact.forMimeType(mimeType)).isEqualTo(contents.forMimeType(mimeType));
+
+            for (Locale locale : List.of(sv, svFi, Locale.ENGLISH, Locale.GERMAN)) {
+                assertThat((Object) compact.forMimeTypeAndLocale(mimeType, locale))
+                        .isEqualTo(contents.forMimeTypeAndLocale(mimeType, locale));
+            }
+        }
+
+        assertThat((byte[]) compact.forMimeType(MimeType.IMAGE_APPICON)).containsExactly(1, 2, 3);
+        assertThat((String) compact.forMimeTypeAndAcceptLanguage(MimeType.TEXT_BODY, "sv-FI")).isEqualTo("Säg det");
+        assertThat(compact.indexed().values()).isEqualTo(contents.values());
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new ContentsModule());
+        assertThat(mapper.writeValueAsString(compact)).isEqualTo(mapper.writeValueAsString(contents));
+
+        Locale longTag = Locale.forLanguageTag("sv-x-" + "abcdefgh-".repeat(5) + "x");
+        MimeType malformed = new MimeType("not a mime type");
+
+        Contents unshared = new Contents(Contents.withMimeType(malformed).andValue("Odd").andValue("Lång", longTag)
+                .andWithMimeType(MimeType.TEXT_BODY).andValue("Body", longTag).asList());
+        Contents compactUnshared = unshared.compact();
+
+        assertThat(compactUnshared).isNotSameAs(unshared);
+        assertThat(compactUnshared.values()).isEqualTo(unshared.values());
+        assertThat((String) compactUnshared.forMimeType(malformed)).isEqualTo("Odd");
+        assertThat((String) compactUnshared.forMimeTypeAndLocale(malformed, longTag)).isEqualTo("Lång");
+        assertThat((String) compactUnshared.forMimeTypeAndLocale(MimeType.TEXT_BODY, longTag)).isEqualTo("Body");
+    }
+
+    @Test
+    public void ensureResolvesContentByAcceptLanguageWithFallbacks() throws Exception {
+
+        Contents contents = new Contents(Contents.withMimeType(MimeType.TEXT_BODY).andValue("Say it")
+                .andValue("Säg det", Locale.forLanguageTag("sv")).andValue("Sano se", Locale.forLanguageTag("fi"))
+                .andWithMimeType(MimeType.TEXT_SUBJECT).andValue("Hej", Locale.forLanguageTag("sv")).asList());
+
+        assertThat((String) contents.forMimeTypeAndAcceptLanguage(MimeType.TEXT_BODY, "sv-FI")).isEqualTo("Säg det");
+        assertThat((String) contents.forMimeTypeAndAcceptLanguage(MimeType.TEXT_BODY, "de, fi;q=0.9, sv;q=0.8"))
+                .isEqualTo("Sano se");
+        assertThat((String) contents.forMimeTypeAndAcceptLanguage(MimeType.TEXT_BODY, "de")).isEqualTo("Say it");
+        assertThat((String) contents.forMimeTypeAndAcceptLanguage(MimeType.TEXT_BODY, null)).isEqualTo("Say it");
+        assertThat((String) contents.forMimeTypeAndAcceptLanguage(MimeType.TEXT_BODY, "not a ; valid = header"))
+                .isEqualTo("Say it");
+        assertThat((String) contents.forMimeTypeAndAcceptLanguage(MimeType.TEXT_SUBJECT, "de")).isNull();
+
+        assertThat((String) contents.forMimeTypeAndLanguages(MimeType.TEXT_BODY,
+                Locale.LanguageRange.parse("fi-FI;q=0.5, sv-SE"))).isEqualTo("Säg det");
+
+        List<Locale.LanguageRange> ranges = new ArrayList<>(Locale.LanguageRange.parse("sv"));
+
+        assertThat((String) contents.forMimeTypeAndLanguages(MimeType.TEXT_BODY, ranges)).isEqualTo("Säg det");
+
+        ranges.set(0, new Locale.LanguageRange("fi"));
+
+        assertThat((String) contents.forMimeTypeAndLanguages(MimeType.TEXT_BODY, Locale.LanguageRange.parse("sv")))
+                .isEqualTo("Säg det");
+        assertThat((String) contents.forMimeTypeAndLanguages(MimeType.TEXT_BODY, ranges)).isEqualTo("Sano se");
+    }
+
     @Test
     public void ensureCanCreateAndRetriveBinaryImageData() throws Exception {
 
@@ -154,6 +338,160 @@ public class ContentsTest {
         assertThat(value).isEqualTo(image);
     }
 
+    @Test
+    public void ensureCanCreateBinaryDataFromByteBuffers() throws Exception {
+
+        byte[] image = new byte[10_000];
+        new Random(7).nextBytes(image);
+
+        ByteBuffer heap = ByteBuffer.wrap(image);
+        ByteBuffer direct = ByteBuffer.allocateDirect(image.length).put(image).flip();
+
+        String expected = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(image).asJSON();
+
+        Buildable fromHeap = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(heap);
+        Buildable fromDirect = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(direct);
+
+        assertThat(fromHeap.asJSON()).isEqualTo(expected);
+        assertThat(fromDirect.asJSON()).isEqualTo(expected);
+        assertThat(new ObjectMapper().writeValueAsString(fromDirect.asMap())).isEqualTo(expected);
+        assertThat(direct.position()).isZero();
+        assertThat(direct.remaining()).isEqualTo(image.length);
+
+        ByteBuffer value = new Contents(fromDirect.asList()).forMimeType(MimeType.IMAGE_APPICON);
+        assertThat(value.isReadOnly()).isTrue();
+        value.get(new byte[100]);
+        assertThat(fromDirect.asJSON()).isEqualTo(expected);
+
+        assertThat(Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(ByteBuffer.allocate(0))
+                .andValue((ByteBuffer) null).asList()).isEmpty();
+    }
+
+    @Test
+    public void ensureCanCreateBinaryDataFromMappedFiles(@TempDir Path dir) throws Exception {
+
+        byte[] image = new byte[] { 1, 2, 3, 4, 5 };
+        Path file = Files.write(dir.resolve("icon.bin"), image);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(MapMode.READ_ONLY, 1, 3);
+
+            String json = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(mapped).asJSON();
+
+            assertThat(json)
+                    .isEqualTo(Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(new byte[] { 2, 3, 4 }).asJSON());
+        }
+    }
+
+    @Test
+    public void ensureReusableBuilderBuildsSameContents() throws Exception {
+
+        Reusable builder = Contents.builder(4);
+
+        Buildable reused = builder.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello")
+                .andValue("Hej", Locale.forLanguageTag("sv")).andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 });
+
+        Buildable fresh = Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello")
+                .andValue("Hej", Locale.forLanguageTag("sv")).andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 });
+
+        assertThat(reused).isSameAs(builder);
+        assertThat(reused.asJSON()).isEqualTo(fresh.asJSON());
+
+        List<Content> before = reused.asList();
+
+        Buildable again = builder.reset().withMimeType(MimeType.TEXT_BODY).andValue("Body");
+
+        assertThat(again.asList()).containsExactly(new Content(MimeType.TEXT_BODY_VAL, "Body"));
+        assertThat(before).hasSize(3);
+    }
+
+    @Test
+    public void ensureDoesNotMemoizeEncodingsOfBufferValues() throws Exception {
+
+        ByteBuffer icon = ByteBuffer.allocateDirect(3).put(new byte[] { 1, 2, 3 }).flip();
+        Buildable contents = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(icon);
+
+        assertThat(contents.asJSON()).contains("AQID");
+
+        icon.put(0, (byte) 9);
+
+        assertThat(contents.asJSON()).contains("CQID");
+        assertThat(Contents.fromBinary(contents.asBinary()).<byte[]> forMimeType(MimeType.IMAGE_APPICON))
+                .containsExactly(9, 2, 3);
+    }
+
+    @Test
+    public void ensureMemoizesEncodingsUntilValuesAreAdded() throws Exception {
+
+        Buildable contents = Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello");
+
+        ByteBuffer json = contents.asJSONBuffer();
+
+        assertThat(json.isReadOnly()).isTrue();
+        assertThat(StandardCharsets.UTF_8.decode(json).toString()).isEqualTo(contents.asJSON());
+        assertThat(contents.asBinaryBuffer()).isEqualTo(ByteBuffer.wrap(contents.asBinary()));
+
+        Buildable more = contents.andWithMimeType(MimeType.TEXT_BODY).andValue("Body");
+
+        assertThat(contents.asJSON()).contains("Body");
+        assertThat(more.asJSON()).isEqualTo(contents.asJSON());
+        assertThat(Contents.fromBinary(contents.asBinary()).<String> forMimeType(MimeType.TEXT_BODY)).isEqualTo("Body");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        more.writeJSON(out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(more.asJSON());
+
+        Reusable builder = Contents.builder(2);
+        builder.withMimeType(MimeType.TEXT_SUBJECT).andValue("First").asJSON();
+
+        assertThat(builder.reset().withMimeType(MimeType.TEXT_SUBJECT).andValue("Second").asJSON())
+                .doesNotContain("First").contains("Second");
+    }
+
+    @Test
+    public void ensureRendersLocalizedTemplates() throws Exception {
+
+        Contents contents = new Contents(
+                Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello {0}, you have {1} new messages")
+                        .andValue("Hej {0}, du har {1} nya meddelanden", Locale.forLanguageTag("sv")).asList());
+
+        assertThat(contents.render(MimeType.TEXT_SUBJECT, Locale.forLanguageTag("sv-FI"), "Olle", 3))
+                .isEqualTo("Hej Olle, du har 3 nya meddelanden");
+        assertThat(contents.render(MimeType.TEXT_SUBJECT, Locale.GERMAN, "Olle", 3))
+                .isEqualTo("Hello Olle, you have 3 new messages");
+        assertThat(contents.render(MimeType.TEXT_BODY, Locale.ENGLISH, "Olle")).isNull();
+    }
+
+    @Test
+    public void ensureTemplatesRenderAsMessageFormat() throws Exception {
+
+        Object[] args = { "a", null, 'c' };
+
+        for (String pattern : List.of("", "plain", "{0}{1}{2}", "'{0}' is {0}", "it''s {2} '{'{1}'}'", "{1} and {3}",
+                "''{0}''")) {
+            assertThat(ContentTemplate.of(pattern).render(args)).as(pattern)
+                    .isEqualTo(MessageFormat.format(pattern, args));
+        }
+
+        assertThatThrownBy(() -> ContentTemplate.of("{0,number}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ContentTemplate.of("{0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ContentTemplate.of("{ 0 }")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void ensureReusableBuilderIgnoresEmptyContentEntries() throws Exception {
+
+        List<Content> contents = Contents.builder(4).withMimeType(MimeType.TEXT_APPICON).andValue(" \t\n ")
+                .andWithMimeType(MimeType.TEXT_SUBJECT).andValue("").andWithMimeType(MimeType.TEXT_BODY)
+                .andValue((String) null).andValue("\u2003").andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[0]).andWithMimeType(MimeType.TEXT_DESCRIPTION).andValue(" foo ").asList();
+
+        assertThat(contents).containsExactly(new Content(MimeType.TEXT_BODY_VAL, "\u2003"),
+                new Content(MimeType.TEXT_DESCRIPTION_VAL, " foo "));
+    }
+
     @Test
     public void ensureIgnoresEmptyContentEntries() throws Exception {
 
@@ -164,4 +502,21 @@ public class ContentsTest {
         assertThat(contents).isNotNull().hasSize(1);
         assertContentEquals(contents.get(0), MimeType.TEXT_DESCRIPTION, "foo", null);
     }
+
+    @Test
+    void ensureDigestsContentsAsStrongEntityTags() throws Exception {
+
+        Contents one = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello")
+                .andWithMimeType(MimeType.IMAGE_APPICON).andValue(new byte[] { 1, 2, 3 }).asList());
+        Contents two = Contents.fromBinary(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello")
+                .andWithMimeType(MimeType.IMAGE_APPICON).andValue(ByteBuffer.wrap(new byte[] { 1, 2, 3 })).asBinary());
+
+        assertThat(one.digest()).isEqualTo(two.digest()).isEqualTo(one.indexed().digest());
+        assertThat(one.etag()).isEqualTo(two.etag()).matches("\"[A-Za-z0-9_-]{43}\"");
+
+        Contents reordered = new Contents(Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(new byte[] { 1, 2, 3 })
+                .andWithMimeType(MimeType.TEXT_SUBJECT).andValue("Hello").asList());
+
+        assertThat(reordered.etag()).isNotEqualTo(one.etag());
+    }
 }
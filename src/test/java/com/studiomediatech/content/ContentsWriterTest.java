@@ -0,0 +1,71 @@
+package com.studiomediatech.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class ContentsWriterTest {
+
+    private final Contents first = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hello")
+            .andValue("Hej", Locale.forLanguageTag("sv")).asList());
+    private final Contents second = new Contents(
+            Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(new byte[] { 1, 2, 3 }).asList());
+
+    @Test
+    void ensureWritesNewlineDelimitedDocuments() throws Exception {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ContentsWriter writer = Contents.writer(out, ContentsWriter.Format.NDJSON)) {
+            writer.writeAll(List.of(first, second));
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                {"contents":[{"content":"Hello","mimeType":"text/vnd.content.subject"},\
+                {"locale":"sv","content":"Hej","mimeType":"text/vnd.content.subject"}]}
+                {"contents":[{"content":"AQID","mimeType":"image/vnd.content.appicon"}]}
+                """);
+    }
+
+    @Test
+    void ensureWritesArrayReadBackByReader() throws Exception {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ContentsWriter writer = Contents.writer(Channels.newChannel(out), ContentsWriter.Format.ARRAY, 16)) {
+            writer.writeAll(Stream.of(first, second, first));
+        }
+
+        List<Contents> read;
+
+        try (var stream = Contents.reader(new ByteArrayInputStream(out.toByteArray())).stream()) {
+            read = stream.collect(Collectors.toList());
+        }
+
+        assertThat(read).hasSize(3);
+        assertThat(read.get(0).values()).isEqualTo(first.values());
+        assertThat((byte[]) read.get(1).forMimeType(MimeType.IMAGE_APPICON)).containsExactly(1, 2, 3);
+        assertThat(read.get(2).values()).isEqualTo(first.values());
+    }
+
+    @Test
+    void ensureWritesEmptyArray() throws Exception {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Contents.writer(out, ContentsWriter.Format.ARRAY).close();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+}
@@ -1,6 +1,10 @@
 package com.studiomediatech.content;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import java.util.Locale;
 
 import org.junit.jupiter.api.Test;
 
@@ -42,4 +46,68 @@ public class MimeTypeTest {
         assertThat(MimeType.TEXT_APPICON.withParams("foobar").getMimeType())
                 .isEqualTo("text/vnd.content.appicon;foobar");
     }
+
+    @Test
+    public void ensureParsesStructuredComponents() throws Exception {
+
+        MimeType mimeType = MimeType.valueOf("text/vnd.content.appicon+uri;class=small; size = 16");
+
+        assertThat(mimeType.getType()).isEqualTo("text");
+        assertThat(mimeType.getName()).isEqualTo("appicon");
+        assertThat(mimeType.getSubtype()).isEqualTo("uri");
+        assertThat(mimeType.getParams()).containsExactly(entry("class", "small"), entry("size", "16"));
+        assertThat(mimeType.getBaseType().getMimeType()).isEqualTo("text/vnd.content.appicon+uri");
+
+        assertThat(MimeType.TEXT_BODY.getSubtype()).isNull();
+        assertThat(MimeType.TEXT_BODY.getParams()).isEmpty();
+        assertThat(MimeType.TEXT_BODY.getBaseType()).isSameAs(MimeType.TEXT_BODY);
+        assertThat(MimeType.TEXT_APPICON.withParams("foobar").getParams()).containsExactly(entry("foobar", ""));
+        assertThat(new MimeType("application/json").getName()).isEqualTo("json");
+    }
+
+    @Test
+    public void ensureInternsInstances() throws Exception {
+
+        assertThat(MimeType.valueOf("text/vnd.content.body")).isSameAs(MimeType.TEXT_BODY);
+        assertThat(MimeType.TEXT_APPICON.withParams("class=small"))
+                .isSameAs(MimeType.valueOf("text/vnd.content.appicon;class=small"));
+        assertThat(MimeType.TEXT_APPICON.withParams("class=small").getBaseType()).isSameAs(MimeType.TEXT_APPICON);
+        assertThat(ContentSymbols.mimeTypeAt(ContentSymbols.mimeTypeId(MimeType.TEXT_BODY_VAL)))
+                .isSameAs(MimeType.TEXT_BODY);
+        assertThat(ContentSymbols.mimeType(new String(MimeType.TEXT_BODY_VAL))).isSameAs(MimeType.TEXT_BODY_VAL);
+    }
+
+    @Test
+    public void ensureOnlyInternsWellFormedValues() throws Exception {
+
+        String tooLong = "text/" + "x".repeat(ContentSymbols.MAX_MIME_TYPE_LENGTH);
+
+        for (String malformed : List.of(tooLong, "text", "/plain", "text/", "text/plain/more", "te xt/plain",
+                "text/plain;\u0000")) {
+            assertThat(ContentSymbols.mimeTypeId(malformed)).isEqualTo(-1);
+            assertThat(MimeType.valueOf(malformed)).isNotSameAs(MimeType.valueOf(malformed));
+            assertThat(ContentSymbols.mimeType(malformed)).isSameAs(malformed);
+        }
+
+        Locale longTag = Locale.forLanguageTag("sv-x-" + "abcdefgh-".repeat(5) + "x");
+
+        assertThat(ContentSymbols.localeId(longTag)).isEqualTo(-1);
+        assertThat(ContentSymbols.locale(longTag)).isSameAs(longTag);
+        assertThat(ContentSymbols.isMimeType("application/vnd.api+json; charset=utf-8")).isTrue();
+    }
+
+    @Test
+    public void ensureMatchesWithModes() throws Exception {
+
+        MimeType small = MimeType.TEXT_APPICON.withParams("class=small");
+        MimeType uri = MimeType.valueOf("text/vnd.content.appicon+uri;class=small");
+
+        assertThat(small.matches(MimeType.TEXT_APPICON, MimeType.Match.EXACT)).isFalse();
+        assertThat(small.matches(MimeType.TEXT_APPICON, MimeType.Match.IGNORE_PARAMS)).isTrue();
+        assertThat(small.isVariantOf(MimeType.TEXT_APPICON)).isTrue();
+        assertThat(uri.isVariantOf(MimeType.TEXT_APPICON)).isFalse();
+        assertThat(uri.matches(MimeType.TEXT_APPICON, MimeType.Match.IGNORE_SUBTYPE_AND_PARAMS)).isTrue();
+        assertThat(MimeType.IMAGE_APPICON.matches(MimeType.TEXT_APPICON, MimeType.Match.IGNORE_SUBTYPE_AND_PARAMS))
+                .isFalse();
+    }
 }